@@ -1,71 +1,159 @@
 package com.fitmatch.common;
 
+import com.fitmatch.common.dto.UserDto;
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.RequiredTypeException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import javax.crypto.SecretKey;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class JwtService {
 
-  @Value("${spring.application.security.jwt-secret}")
-  private String JWT_SECRET;
+  /**
+   * When enabled, tokens issued for users with a completed profile also carry the profile fields
+   * needed for matching, so downstream services can build the user context without calling the user
+   * service.
+   */
+  @Value("${spring.application.security.jwt-profile-claims:false}")
+  private boolean profileClaims;
 
   private static final long EXPIRATION = 86400000L; // 1 day
 
-  private Claims extractClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSecretKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+  private static final String FITNESS_LEVEL_CLAIM = "fl";
+  private static final String ACTIVITY_INTERESTS_CLAIM = "ai";
+  private static final String LAT_CLAIM = "lat";
+  private static final String LON_CLAIM = "lon";
+  private static final String SEARCH_RADIUS_CLAIM = "rkm";
+  private static final String PROFILE_COMPLETED_CLAIM = "pc";
+
+  private final SecretKey secretKey;
+  private final JwtParser parser;
+
+  public JwtService(@Value("${spring.application.security.jwt-secret}") String jwtSecret) {
+    this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+  }
+
+  /**
+   * Verifies the token's signature and expiry once and returns its claims.
+   *
+   * @throws JwtException if the token is malformed, tampered with or expired
+   */
+  public TokenClaims parse(String token) {
+    if (token == null || token.isBlank()) {
+      throw new MalformedJwtException("Empty token");
+    }
+    Claims claims = parser.parseClaimsJws(token).getBody();
+    return new TokenClaims(
+        claims.getSubject(),
+        claims.get("email", String.class),
+        claims.getExpiration().toInstant(),
+        profile(claims));
   }
 
   public Boolean validateToken(String token) {
     try {
-      Claims claims =
-          Jwts.parserBuilder()
-              .setSigningKey(getSecretKey())
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
-      return !isTokenExpired(claims);
+      parse(token);
+      return Boolean.TRUE;
     } catch (JwtException e) {
       return Boolean.FALSE;
     }
   }
 
   public String generateToken(String id, String email) {
+    return tokenBuilder(id, email).compact();
+  }
+
+  /**
+   * Issues a token for the user, adding compact profile claims when profile claims are enabled and
+   * the profile is completed.
+   */
+  public String generateToken(UserDto user) {
+    JwtBuilder builder = tokenBuilder(user.id().toString(), user.email());
+    if (profileClaims && user.profileCompleted()) {
+      builder
+          .claim(FITNESS_LEVEL_CLAIM, user.fitnessLevel().name())
+          .claim(
+              ACTIVITY_INTERESTS_CLAIM, user.activityInterests().stream().map(Enum::name).toList())
+          .claim(LAT_CLAIM, user.lat())
+          .claim(LON_CLAIM, user.lon())
+          .claim(SEARCH_RADIUS_CLAIM, user.searchRadiusKm())
+          .claim(PROFILE_COMPLETED_CLAIM, true);
+    }
+    return builder.compact();
+  }
+
+  private JwtBuilder tokenBuilder(String id, String email) {
     return Jwts.builder()
         .setSubject(id)
         .claim("email", email)
         .setIssuedAt(new Date())
         .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-        .signWith(getSecretKey())
-        .compact();
+        .signWith(secretKey);
   }
 
-  private SecretKey getSecretKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(JWT_SECRET);
-    return Keys.hmacShaKeyFor(keyBytes);
+  public String getEmailFromToken(String token) {
+    return parse(token).email();
   }
 
-  private boolean isTokenExpired(Claims claims) {
-    return claims.getExpiration().before(new Date());
+  public String getIdFromToken(String token) {
+    return parse(token).userId();
   }
 
-  public String getEmailFromToken(String token) {
-    return extractClaims(token).get("email", String.class);
+  /** Returns the profile carried in the token's claims, or empty if it carries none. */
+  public Optional<UserDto> getProfileFromToken(String token) {
+    return parse(token).optionalProfile();
   }
 
-  public String getIdFromToken(String token) {
-    return extractClaims(token).getSubject();
+  /**
+   * Reads the profile claims, treating them as absent when they are missing or malformed so that
+   * callers fall back to looking the profile up instead of failing the request.
+   */
+  private static UserDto profile(Claims claims) {
+    try {
+      if (!Boolean.TRUE.equals(claims.get(PROFILE_COMPLETED_CLAIM, Boolean.class))) {
+        return null;
+      }
+
+      Set<Activity> interests = EnumSet.noneOf(Activity.class);
+      for (Object name : claims.get(ACTIVITY_INTERESTS_CLAIM, List.class)) {
+        interests.add(Activity.valueOf((String) name));
+      }
+      return UserDto.builder()
+          .id(UUID.fromString(claims.getSubject()))
+          .email(claims.get("email", String.class))
+          .fitnessLevel(FitnessLevel.valueOf(claims.get(FITNESS_LEVEL_CLAIM, String.class)))
+          .activityInterests(interests)
+          .lat(number(claims, LAT_CLAIM).doubleValue())
+          .lon(number(claims, LON_CLAIM).doubleValue())
+          .searchRadiusKm(number(claims, SEARCH_RADIUS_CLAIM).intValue())
+          .profileCompleted(true)
+          .build();
+    } catch (IllegalArgumentException
+        | NullPointerException
+        | ClassCastException
+        | RequiredTypeException e) {
+      return null;
+    }
+  }
+
+  private static Number number(Claims claims, String name) {
+    return (Number) claims.get(name);
   }
 }
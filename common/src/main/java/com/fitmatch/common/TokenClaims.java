@@ -0,0 +1,17 @@
+package com.fitmatch.common;
+
+import com.fitmatch.common.dto.UserDto;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Claims of a token whose signature and expiry have been verified by {@link JwtService#parse}.
+ *
+ * @param profile the profile carried as claims, or <code>null</code> if the token carries none
+ */
+public record TokenClaims(String userId, String email, Instant expiresAt, UserDto profile) {
+
+  public Optional<UserDto> optionalProfile() {
+    return Optional.ofNullable(profile);
+  }
+}
@@ -0,0 +1,203 @@
+package com.fitmatch.common;
+
+import com.fitmatch.common.dto.UserDto;
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs and verifies the internal identity headers the gateway injects once it has verified a JWT.
+ *
+ * <p>The user id, email, the token's profile claims (if any) and an expiry are signed with
+ * HMAC-SHA256 under a secret shared by the services, so a downstream service can trust the identity
+ * and profile without parsing the JWT again. The signature is short-lived, which bounds replay if
+ * the headers leak. Services reachable without the gateway stay safe because unsigned or forged
+ * headers are rejected.
+ *
+ * <p>The secret must differ from the JWT signing key: anyone holding one must not be able to forge
+ * the other. Startup fails if trusted identity is enabled without a separate secret.
+ */
+@Component
+public class TrustedIdentity {
+
+  public static final String USER_ID_HEADER = "X-Fitmatch-User-Id";
+  public static final String EMAIL_HEADER = "X-Fitmatch-User-Email";
+  public static final String PROFILE_HEADER = "X-Fitmatch-User-Profile";
+  public static final String EXPIRES_HEADER = "X-Fitmatch-Identity-Expires";
+  public static final String SIGNATURE_HEADER = "X-Fitmatch-Identity-Signature";
+
+  public static final List<String> HEADERS =
+      List.of(USER_ID_HEADER, EMAIL_HEADER, PROFILE_HEADER, EXPIRES_HEADER, SIGNATURE_HEADER);
+
+  private static final String ALGORITHM = "HmacSHA256";
+
+  private final boolean enabled;
+  private final SecretKeySpec key;
+  private final Duration ttl;
+
+  public TrustedIdentity(
+      @Value("${fitmatch.security.trusted-identity.enabled:false}") boolean enabled,
+      @Value("${fitmatch.security.trusted-identity.secret:}") String secret,
+      @Value("${spring.application.security.jwt-secret:}") String jwtSecret,
+      @Value("${fitmatch.security.trusted-identity.ttl:PT30S}") Duration ttl) {
+    this.enabled = enabled;
+    if (enabled && (secret == null || secret.isBlank())) {
+      throw new IllegalStateException(
+          "fitmatch.security.trusted-identity.secret must be set when trusted identity is enabled");
+    }
+    if (enabled && secret.equals(jwtSecret)) {
+      throw new IllegalStateException(
+          "fitmatch.security.trusted-identity.secret must differ from the JWT signing key");
+    }
+    this.key =
+        secret == null || secret.isBlank()
+            ? null
+            : new SecretKeySpec(Base64.getDecoder().decode(secret), ALGORITHM);
+    this.ttl = ttl;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Issues a signed identity for a user whose token has just been verified. */
+  public Identity issue(String userId, String email) {
+    return issue(userId, email, null);
+  }
+
+  /** Issues a signed identity carrying the profile claims of a token that was just verified. */
+  public Identity issue(TokenClaims claims) {
+    return issue(claims.userId(), claims.email(), claims.profile());
+  }
+
+  private Identity issue(String userId, String email, UserDto profile) {
+    if (!enabled) throw new IllegalStateException("Trusted identity is not enabled");
+    long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+    String encodedProfile = encodeProfile(profile);
+    return new Identity(
+        userId, email, profile, expiresAt, sign(userId, email, encodedProfile, expiresAt));
+  }
+
+  /**
+   * Reads the identity headers through <code>headers</code> and returns the identity if trusted
+   * identity is enabled and the headers are present, correctly signed and unexpired.
+   */
+  public Optional<Identity> verify(Function<String, String> headers) {
+    if (!enabled) return Optional.empty();
+
+    String userId = headers.apply(USER_ID_HEADER);
+    String email = headers.apply(EMAIL_HEADER);
+    String encodedProfile = headers.apply(PROFILE_HEADER);
+    String expires = headers.apply(EXPIRES_HEADER);
+    String signature = headers.apply(SIGNATURE_HEADER);
+    if (userId == null || email == null || expires == null || signature == null) {
+      return Optional.empty();
+    }
+
+    long expiresAt;
+    try {
+      expiresAt = Long.parseLong(expires);
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+    if (expiresAt < Instant.now().getEpochSecond()) return Optional.empty();
+
+    byte[] expected =
+        sign(userId, email, encodedProfile, expiresAt).getBytes(StandardCharsets.US_ASCII);
+    if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+      return Optional.empty();
+    }
+    try {
+      UserDto profile = decodeProfile(userId, email, encodedProfile);
+      return Optional.of(new Identity(userId, email, profile, expiresAt, signature));
+    } catch (IllegalArgumentException e) {
+      // Signed by a gateway that knows values this service does not
+      return Optional.empty();
+    }
+  }
+
+  private String sign(String userId, String email, String encodedProfile, long expiresAt) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      String payload =
+          userId
+              + "\n"
+              + email
+              + "\n"
+              + (encodedProfile == null ? "" : encodedProfile)
+              + "\n"
+              + expiresAt;
+      byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to sign trusted identity", e);
+    }
+  }
+
+  /** Encodes a completed profile as <code>fitness;activity,activity;lat;lon;radiusKm</code>. */
+  static String encodeProfile(UserDto profile) {
+    if (profile == null) return null;
+    return String.join(
+        ";",
+        profile.fitnessLevel().name(),
+        profile.activityInterests().stream().map(Enum::name).collect(Collectors.joining(",")),
+        Double.toString(profile.lat()),
+        Double.toString(profile.lon()),
+        Integer.toString(profile.searchRadiusKm()));
+  }
+
+  static UserDto decodeProfile(String userId, String email, String encoded) {
+    if (encoded == null || encoded.isEmpty()) return null;
+    String[] fields = encoded.split(";", -1);
+    if (fields.length != 5) throw new IllegalArgumentException("Malformed profile header");
+    Set<Activity> interests = EnumSet.noneOf(Activity.class);
+    for (String name : fields[1].split(",")) {
+      if (!name.isEmpty()) interests.add(Activity.valueOf(name));
+    }
+    return UserDto.builder()
+        .id(UUID.fromString(userId))
+        .email(email)
+        .fitnessLevel(FitnessLevel.valueOf(fields[0]))
+        .activityInterests(interests)
+        .lat(Double.parseDouble(fields[2]))
+        .lon(Double.parseDouble(fields[3]))
+        .searchRadiusKm(Integer.parseInt(fields[4]))
+        .profileCompleted(true)
+        .build();
+  }
+
+  /**
+   * A verified identity. <code>profile</code> is the completed profile carried by the user's token,
+   * or <code>null</code> if the token carried none.
+   */
+  public record Identity(
+      String userId, String email, UserDto profile, long expiresAt, String signature) {
+
+    /** Passes each identity header name and value to <code>header</code>. */
+    public void writeTo(BiConsumer<String, String> header) {
+      header.accept(USER_ID_HEADER, userId);
+      header.accept(EMAIL_HEADER, email);
+      if (profile != null) header.accept(PROFILE_HEADER, encodeProfile(profile));
+      header.accept(EXPIRES_HEADER, Long.toString(expiresAt));
+      header.accept(SIGNATURE_HEADER, signature);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.fitmatch.common.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of concurrent calls into a downstream resource with a semaphore.
+ *
+ * <p>With virtual threads a burst of requests is no longer bounded by the size of a thread pool, so
+ * the bulkhead is what keeps it from piling onto a connection pool or a remote service. A caller
+ * that cannot get a permit within <code>maxWait</code> fails fast with a {@link
+ * BulkheadFullException} instead of queueing indefinitely. Waiting on the semaphore parks a virtual
+ * thread without pinning its carrier.
+ */
+public class Bulkhead {
+
+  private final String name;
+  private final Semaphore permits;
+  private final Duration maxWait;
+
+  public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+    if (maxConcurrent < 1) {
+      throw new IllegalArgumentException("maxConcurrent must be positive");
+    }
+    this.name = name;
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.maxWait = maxWait;
+  }
+
+  /** Runs <code>call</code> while holding a permit. */
+  public <T> T call(Supplier<T> call) {
+    acquire();
+    try {
+      return call.get();
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Takes a permit, waiting at most <code>maxWait</code>. Every successful call must be matched by
+   * one {@link #release()}.
+   */
+  public void acquire() {
+    try {
+      if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new BulkheadFullException(name);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BulkheadFullException(name);
+    }
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+}
@@ -0,0 +1,110 @@
+package com.fitmatch.common.concurrent;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * A {@link DataSource} that holds a {@link Bulkhead} permit for as long as each connection it hands
+ * out stays open, so no more than the bulkhead's limit of callers can be working against the
+ * database at once and the rest fail fast instead of queueing on the connection pool.
+ */
+public class BulkheadDataSource implements DataSource {
+
+  private final DataSource target;
+  private final Bulkhead bulkhead;
+
+  public BulkheadDataSource(DataSource target, Bulkhead bulkhead) {
+    this.target = target;
+    this.bulkhead = bulkhead;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    bulkhead.acquire();
+    try {
+      return releasingOnClose(target.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      bulkhead.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    bulkhead.acquire();
+    try {
+      return releasingOnClose(target.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      bulkhead.release();
+      throw e;
+    }
+  }
+
+  private Connection releasingOnClose(Connection connection) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("close")) {
+                // Closing twice is a no-op, so the permit is released exactly once
+                if (released.compareAndSet(false, true)) {
+                  try {
+                    connection.close();
+                  } finally {
+                    bulkhead.release();
+                  }
+                }
+                return null;
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+              }
+            });
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return target.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    target.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    target.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return target.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return target.getParentLogger();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || target.isWrapperFor(iface);
+  }
+}
@@ -0,0 +1,21 @@
+package com.fitmatch.common.concurrent;
+
+/** Thrown when a {@link Bulkhead} has no permit available within its maximum wait. */
+public class BulkheadFullException extends RuntimeException {
+
+  public BulkheadFullException(String bulkhead) {
+    super(String.format("Too many concurrent %s calls, please retry", bulkhead));
+  }
+
+  /**
+   * Returns the bulkhead rejection in <code>e</code>'s cause chain, or <code>null</code>.
+   * Rejections by the database bulkhead usually arrive wrapped, e.g. in Spring's <code>
+   * CannotCreateTransactionException</code>.
+   */
+  public static BulkheadFullException findIn(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof BulkheadFullException bulkheadFull) return bulkheadFull;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,83 @@
+package com.fitmatch.common.concurrent;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.metadata.CompositeDataSourcePoolMetadataProvider;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts connection pools behind a {@link BulkheadDataSource} when <code>
+ * fitmatch.bulkhead.database.enabled</code> is set. Each pool gets its own bulkhead, limited to the
+ * pool's maximum size, so callers beyond it are turned away before they wait on the pool.
+ *
+ * <p>The application's <code>dataSource</code> bean is wrapped here unless it already routes to
+ * bulkheaded pools. Configurations that build several pools behind one <code>dataSource</code>,
+ * such as the events service's read replicas, call {@link #wrap} for each pool instead.
+ */
+@Component
+public class DataSourceBulkheadPostProcessor implements BeanPostProcessor {
+
+  private static final String DATA_SOURCE_BEAN = "dataSource";
+  private static final String BULKHEAD_NAME = "database";
+
+  private final boolean enabled;
+  private final Duration maxWait;
+  private final ObjectProvider<DataSourcePoolMetadataProvider> poolMetadataProviders;
+
+  public DataSourceBulkheadPostProcessor(
+      @Value("${fitmatch.bulkhead.database.enabled:false}") boolean enabled,
+      @Value("${fitmatch.bulkhead.database.max-wait:PT2S}") Duration maxWait,
+      ObjectProvider<DataSourcePoolMetadataProvider> poolMetadataProviders) {
+    this.enabled = enabled;
+    this.maxWait = maxWait;
+    this.poolMetadataProviders = poolMetadataProviders;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (enabled
+        && bean instanceof DataSource dataSource
+        && DATA_SOURCE_BEAN.equals(beanName)
+        && !isBulkheaded(dataSource)) {
+      return wrap(dataSource);
+    }
+    return bean;
+  }
+
+  /**
+   * Returns <code>pool</code> behind a bulkhead sized to its maximum pool size, or <code>pool
+   * </code> itself when the database bulkhead is disabled.
+   *
+   * @throws IllegalStateException if the pool's maximum size cannot be determined
+   */
+  public DataSource wrap(DataSource pool) {
+    if (!enabled) return pool;
+    return new BulkheadDataSource(pool, new Bulkhead(BULKHEAD_NAME, maxPoolSize(pool), maxWait));
+  }
+
+  private int maxPoolSize(DataSource pool) {
+    DataSourcePoolMetadata metadata =
+        new CompositeDataSourcePoolMetadataProvider(poolMetadataProviders.orderedStream().toList())
+            .getDataSourcePoolMetadata(pool);
+    Integer max = metadata == null ? null : metadata.getMax();
+    if (max == null || max < 1) {
+      throw new IllegalStateException(
+          "Cannot size the database bulkhead: unknown maximum size of pool " + pool);
+    }
+    return max;
+  }
+
+  private static boolean isBulkheaded(DataSource dataSource) {
+    try {
+      return dataSource.isWrapperFor(BulkheadDataSource.class);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.fitmatch.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fitmatch.common.dto.UserDto;
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtServiceTest {
+
+  static final String SECRET = TrustedIdentityTest.JWT_SECRET;
+
+  private final JwtService jwtService = new JwtService(SECRET);
+
+  @Test
+  void parsesTheTokenItGenerated() {
+    TokenClaims claims = jwtService.parse(jwtService.generateToken("u-1", "a@b.c"));
+
+    assertThat(claims.userId()).isEqualTo("u-1");
+    assertThat(claims.email()).isEqualTo("a@b.c");
+    assertThat(claims.expiresAt())
+        .isBetween(
+            Instant.now().plus(Duration.ofHours(23)), Instant.now().plus(Duration.ofDays(1)));
+    assertThat(claims.profile()).isNull();
+  }
+
+  @Test
+  void carriesProfileClaimsWhenEnabled() {
+    ReflectionTestUtils.setField(jwtService, "profileClaims", true);
+    UserDto user = user(true);
+
+    TokenClaims claims = jwtService.parse(jwtService.generateToken(user));
+
+    assertThat(claims.userId()).isEqualTo(user.id().toString());
+    assertThat(claims.profile())
+        .isNotNull()
+        .satisfies(
+            profile -> {
+              assertThat(profile.id()).isEqualTo(user.id());
+              assertThat(profile.email()).isEqualTo(user.email());
+              assertThat(profile.fitnessLevel()).isEqualTo(FitnessLevel.ADVANCED);
+              assertThat(profile.activityInterests())
+                  .containsExactlyInAnyOrder(Activity.RUNNING, Activity.CYCLING);
+              assertThat(profile.lat()).isEqualTo(41.01);
+              assertThat(profile.lon()).isEqualTo(28.97);
+              assertThat(profile.searchRadiusKm()).isEqualTo(15);
+              assertThat(profile.profileCompleted()).isTrue();
+            });
+  }
+
+  @Test
+  void omitsProfileClaimsWhenDisabledOrIncomplete() {
+    assertThat(jwtService.parse(jwtService.generateToken(user(true))).profile()).isNull();
+
+    ReflectionTestUtils.setField(jwtService, "profileClaims", true);
+    assertThat(jwtService.parse(jwtService.generateToken(user(false))).profile()).isNull();
+  }
+
+  @Test
+  void treatsMalformedProfileClaimsAsAbsent() {
+    String badLevel = signed(profileClaims().claim("fl", "NOPE"));
+    String badInterest = signed(profileClaims().claim("ai", List.of("NOPE")));
+    String missingRadius = signed(profileClaims().claim("rkm", null));
+    String textualLat = signed(profileClaims().claim("lat", "north"));
+    String interestsNotAList = signed(profileClaims().claim("ai", "RUNNING"));
+
+    for (String token :
+        List.of(badLevel, badInterest, missingRadius, textualLat, interestsNotAList)) {
+      TokenClaims claims = jwtService.parse(token);
+      assertThat(claims.email()).isEqualTo("a@b.c");
+      assertThat(claims.profile()).isNull();
+    }
+    assertThat(jwtService.parse(signed(profileClaims())))
+        .extracting(TokenClaims::profile)
+        .isNotNull();
+  }
+
+  @Test
+  void rejectsTamperedExpiredAndGarbageTokens() {
+    String token = jwtService.generateToken("u-1", "a@b.c");
+    String[] parts = token.split("\\.");
+    String tampered =
+        parts[0] + "." + signed(Jwts.builder().setSubject("u-2")).split("\\.")[1] + "." + parts[2];
+    String expired =
+        signed(
+            Jwts.builder()
+                .setSubject("u-1")
+                .setExpiration(Date.from(Instant.now().minusSeconds(60))));
+    String otherKey =
+        new JwtService("dHJ1c3RlZC1pZGVudGl0eS10ZXN0LXNlY3JldC1rZXktMzItYnl0ZXM=")
+            .generateToken("u-1", "a@b.c");
+
+    for (String bad : new String[] {tampered, expired, otherKey, "garbage", ""}) {
+      assertThatThrownBy(() -> jwtService.parse(bad)).isInstanceOf(JwtException.class);
+      assertThat(jwtService.validateToken(bad)).isFalse();
+    }
+  }
+
+  private static JwtBuilder profileClaims() {
+    return Jwts.builder()
+        .setSubject(UUID.randomUUID().toString())
+        .claim("email", "a@b.c")
+        .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+        .claim("fl", "ADVANCED")
+        .claim("ai", List.of("RUNNING"))
+        .claim("lat", 41.01)
+        .claim("lon", 28.97)
+        .claim("rkm", 15)
+        .claim("pc", true);
+  }
+
+  private static String signed(JwtBuilder builder) {
+    return builder.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).compact();
+  }
+
+  private static UserDto user(boolean profileCompleted) {
+    return UserDto.builder()
+        .id(UUID.randomUUID())
+        .email("a@b.c")
+        .fitnessLevel(FitnessLevel.ADVANCED)
+        .activityInterests(Set.of(Activity.RUNNING, Activity.CYCLING))
+        .lat(41.01)
+        .lon(28.97)
+        .searchRadiusKm(15)
+        .profileCompleted(profileCompleted)
+        .build();
+  }
+}
@@ -0,0 +1,127 @@
+package com.fitmatch.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fitmatch.common.dto.UserDto;
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TrustedIdentityTest {
+
+  static final String SECRET = "dHJ1c3RlZC1pZGVudGl0eS10ZXN0LXNlY3JldC1rZXktMzItYnl0ZXM=";
+  static final String JWT_SECRET =
+      "ae787f1c945826ac0643570e54a9d564e24fcc1bee7d18f56957d3d522126a359ddcd8a8";
+
+  private final TrustedIdentity trustedIdentity =
+      new TrustedIdentity(true, SECRET, JWT_SECRET, Duration.ofSeconds(30));
+
+  @Test
+  void verifiesTheHeadersItIssued() {
+    Map<String, String> headers = headers(trustedIdentity.issue("u-1", "a@b.c"));
+
+    assertThat(trustedIdentity.verify(headers::get))
+        .hasValueSatisfying(
+            identity -> {
+              assertThat(identity.userId()).isEqualTo("u-1");
+              assertThat(identity.email()).isEqualTo("a@b.c");
+              assertThat(identity.profile()).isNull();
+            });
+  }
+
+  @Test
+  void carriesTheTokenProfileClaims() {
+    UUID id = UUID.randomUUID();
+    UserDto profile =
+        UserDto.builder()
+            .id(id)
+            .email("a@b.c")
+            .fitnessLevel(FitnessLevel.ADVANCED)
+            .activityInterests(Set.of(Activity.RUNNING, Activity.CYCLING))
+            .lat(41.01)
+            .lon(28.97)
+            .searchRadiusKm(15)
+            .profileCompleted(true)
+            .build();
+    Map<String, String> headers =
+        headers(
+            trustedIdentity.issue(
+                new TokenClaims(id.toString(), "a@b.c", Instant.now().plusSeconds(60), profile)));
+
+    assertThat(trustedIdentity.verify(headers::get))
+        .get()
+        .extracting(TrustedIdentity.Identity::profile)
+        .isEqualTo(profile);
+  }
+
+  @Test
+  void rejectsTamperedHeaders() {
+    Map<String, String> headers = headers(trustedIdentity.issue("u-1", "a@b.c"));
+
+    Map<String, String> otherUser = new HashMap<>(headers);
+    otherUser.put(TrustedIdentity.USER_ID_HEADER, "u-2");
+    Map<String, String> addedProfile = new HashMap<>(headers);
+    addedProfile.put(TrustedIdentity.PROFILE_HEADER, "ADVANCED;RUNNING;0.0;0.0;100");
+    Map<String, String> extended = new HashMap<>(headers);
+    extended.put(TrustedIdentity.EXPIRES_HEADER, Long.toString(Long.MAX_VALUE));
+    Map<String, String> unsigned = new HashMap<>(headers);
+    unsigned.remove(TrustedIdentity.SIGNATURE_HEADER);
+
+    assertThat(trustedIdentity.verify(otherUser::get)).isEmpty();
+    assertThat(trustedIdentity.verify(addedProfile::get)).isEmpty();
+    assertThat(trustedIdentity.verify(extended::get)).isEmpty();
+    assertThat(trustedIdentity.verify(unsigned::get)).isEmpty();
+  }
+
+  @Test
+  void rejectsExpiredHeaders() {
+    TrustedIdentity expired = new TrustedIdentity(true, SECRET, JWT_SECRET, Duration.ofSeconds(-5));
+    Map<String, String> headers = headers(expired.issue("u-1", "a@b.c"));
+
+    assertThat(trustedIdentity.verify(headers::get)).isEmpty();
+  }
+
+  @Test
+  void rejectsHeadersSignedWithAnotherSecret() {
+    TrustedIdentity other =
+        new TrustedIdentity(
+            true,
+            "b3RoZXItdHJ1c3RlZC1pZGVudGl0eS1zZWNyZXQta2V5LTMy",
+            JWT_SECRET,
+            Duration.ofSeconds(30));
+    Map<String, String> headers = headers(other.issue("u-1", "a@b.c"));
+
+    assertThat(trustedIdentity.verify(headers::get)).isEmpty();
+  }
+
+  @Test
+  void ignoresHeadersWhenDisabled() {
+    TrustedIdentity disabled = new TrustedIdentity(false, "", JWT_SECRET, Duration.ofSeconds(30));
+    Map<String, String> headers = headers(trustedIdentity.issue("u-1", "a@b.c"));
+
+    assertThat(disabled.verify(headers::get)).isEmpty();
+  }
+
+  @Test
+  void requiresASecretSeparateFromTheJwtKey() {
+    assertThatThrownBy(() -> new TrustedIdentity(true, "", JWT_SECRET, Duration.ofSeconds(30)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("must be set");
+    assertThatThrownBy(
+            () -> new TrustedIdentity(true, JWT_SECRET, JWT_SECRET, Duration.ofSeconds(30)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("must differ");
+  }
+
+  private static Map<String, String> headers(TrustedIdentity.Identity identity) {
+    Map<String, String> headers = new HashMap<>();
+    identity.writeTo(headers::put);
+    return headers;
+  }
+}
@@ -0,0 +1,74 @@
+package com.fitmatch.common.concurrent;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkheadDataSourceTest {
+
+  private DataSource target;
+  private Connection connection;
+  private Bulkhead bulkhead;
+  private BulkheadDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    target = mock(DataSource.class);
+    connection = mock(Connection.class);
+    when(target.getConnection()).thenReturn(connection);
+    bulkhead = new Bulkhead("database", 1, Duration.ofMillis(50));
+    dataSource = new BulkheadDataSource(target, bulkhead);
+  }
+
+  @Test
+  void holdsThePermitUntilTheConnectionIsClosedOnce() throws SQLException {
+    Connection borrowed = dataSource.getConnection();
+    assertThat(bulkhead.availablePermits()).isZero();
+
+    borrowed.isValid(1);
+    borrowed.close();
+    borrowed.close();
+
+    verify(connection).isValid(1);
+    verify(connection).close();
+    assertThat(bulkhead.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsAfterMaxWaitWhileAllPermitsAreHeld() throws SQLException {
+    Connection borrowed = dataSource.getConnection();
+
+    assertThatThrownBy(dataSource::getConnection).isInstanceOf(BulkheadFullException.class);
+    verify(target, times(1)).getConnection();
+
+    borrowed.close();
+    assertThat(dataSource.getConnection()).isNotNull();
+  }
+
+  @Test
+  void releasesThePermitWhenTheTargetFails() throws SQLException {
+    when(target.getConnection()).thenThrow(new SQLException("down"));
+
+    assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+    assertThat(bulkhead.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void delegatesUnwrapToTheTarget() throws SQLException {
+    Connection unwrapped = mock(Connection.class);
+    when(target.isWrapperFor(Connection.class)).thenReturn(true);
+    when(target.unwrap(Connection.class)).thenReturn(unwrapped);
+
+    assertThat(dataSource.isWrapperFor(BulkheadDataSource.class)).isTrue();
+    assertThat(dataSource.unwrap(BulkheadDataSource.class)).isSameAs(dataSource);
+    assertThat(dataSource.isWrapperFor(Connection.class)).isTrue();
+    assertThat(dataSource.unwrap(Connection.class)).isSameAs(unwrapped);
+  }
+}
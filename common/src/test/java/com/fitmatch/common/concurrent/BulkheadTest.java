@@ -0,0 +1,55 @@
+package com.fitmatch.common.concurrent;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+  @Test
+  void releasesThePermitAfterTheCallEvenWhenItFails() {
+    Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ZERO);
+
+    assertThat(bulkhead.call(() -> bulkhead.availablePermits())).isZero();
+    assertThatThrownBy(
+            () ->
+                bulkhead.call(
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(bulkhead.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsAfterMaxWaitWhenNoPermitIsFree() {
+    Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(100));
+    bulkhead.acquire();
+
+    long start = System.nanoTime();
+    assertThatThrownBy(bulkhead::acquire)
+        .isInstanceOf(BulkheadFullException.class)
+        .hasMessageContaining("test");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    bulkhead.release();
+    assertThat(bulkhead.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void findsARejectionWrappedInOtherExceptions() {
+    BulkheadFullException rejection = new BulkheadFullException("database");
+
+    // As when JpaTransactionManager wraps a failed connection in CannotCreateTransactionException
+    RuntimeException wrapped =
+        new IllegalStateException(
+            "Could not open JPA EntityManager", new SQLException("no connection", rejection));
+
+    assertThat(BulkheadFullException.findIn(wrapped)).isSameAs(rejection);
+    assertThat(BulkheadFullException.findIn(new IllegalStateException("other"))).isNull();
+  }
+}
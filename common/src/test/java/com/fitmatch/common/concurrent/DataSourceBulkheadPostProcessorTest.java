@@ -0,0 +1,79 @@
+package com.fitmatch.common.concurrent;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+
+class DataSourceBulkheadPostProcessorTest {
+
+  private final DataSource pool = mock(DataSource.class);
+  private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    DataSourcePoolMetadata metadata = mock(DataSourcePoolMetadata.class);
+    when(metadata.getMax()).thenReturn(2);
+    DataSourcePoolMetadataProvider provider = dataSource -> dataSource == pool ? metadata : null;
+    beanFactory.registerSingleton("poolMetadataProvider", provider);
+  }
+
+  @Test
+  void wrapsTheDataSourceBeanInABulkheadSizedToThePool() throws SQLException {
+    DataSourceBulkheadPostProcessor processor = processor(true);
+
+    Object wrapped = processor.postProcessAfterInitialization(pool, "dataSource");
+
+    assertThat(wrapped).isInstanceOf(BulkheadDataSource.class);
+    DataSource dataSource = (DataSource) wrapped;
+    Connection first = dataSource.getConnection();
+    dataSource.getConnection();
+    assertThatThrownBy(dataSource::getConnection).isInstanceOf(BulkheadFullException.class);
+    first.close();
+    assertThat(dataSource.getConnection()).isNotNull();
+
+    assertThat(processor.postProcessAfterInitialization(pool, "replicaDataSource")).isSameAs(pool);
+    assertThat(processor.postProcessAfterInitialization("bean", "dataSource")).isEqualTo("bean");
+  }
+
+  @Test
+  void leavesDataSourcesRoutingToBulkheadedPoolsAlone() throws SQLException {
+    DataSource routing = mock(DataSource.class);
+    when(routing.isWrapperFor(BulkheadDataSource.class)).thenReturn(true);
+
+    assertThat(processor(true).postProcessAfterInitialization(routing, "dataSource"))
+        .isSameAs(routing);
+  }
+
+  @Test
+  void rejectsPoolsOfUnknownSize() {
+    DataSource unknown = mock(DataSource.class);
+
+    assertThatThrownBy(() -> processor(true).wrap(unknown))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void leavesTheDataSourceAloneWhenDisabled() {
+    DataSourceBulkheadPostProcessor processor = processor(false);
+
+    assertThat(processor.postProcessAfterInitialization(pool, "dataSource")).isSameAs(pool);
+    assertThat(processor.wrap(pool)).isSameAs(pool);
+  }
+
+  private DataSourceBulkheadPostProcessor processor(boolean enabled) {
+    return new DataSourceBulkheadPostProcessor(
+        enabled,
+        Duration.ofMillis(10),
+        beanFactory.getBeanProvider(DataSourcePoolMetadataProvider.class));
+  }
+}
@@ -3,9 +3,11 @@ package com.fitmatch.events;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.fitmatch"})
 @EnableFeignClients(basePackages = "com.fitmatch.events.client")
+@EnableScheduling
 public class EventsApplication {
 
   public static void main(String[] args) {
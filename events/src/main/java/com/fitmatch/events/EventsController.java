@@ -4,6 +4,10 @@ import com.fitmatch.events.dto.CreateEventRequest;
 import com.fitmatch.events.dto.EventDto;
 import com.fitmatch.events.dto.GetNearbyEventsResponse;
 import com.fitmatch.events.dto.JoinEventResponse;
+import com.fitmatch.events.dto.LeaveEventResponse;
+import com.fitmatch.events.dto.NearbyEventsPage;
+import com.fitmatch.events.dto.ParticipationRequest;
+import com.fitmatch.events.dto.ParticipationResult;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/events")
 public class EventsController {
 
+  private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final EventsService eventsService;
 
   @PostMapping
@@ -25,8 +31,17 @@ public class EventsController {
   }
 
   @GetMapping("/nearby")
-  public ResponseEntity<List<GetNearbyEventsResponse>> getEvents() {
-    return ResponseEntity.ok(eventsService.getNearbyEvents());
+  public ResponseEntity<List<GetNearbyEventsResponse>> getEvents(
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer withinDays,
+      @RequestParam(defaultValue = "false") boolean hideFull) {
+    NearbyEventsPage page = eventsService.getNearbyEvents(limit, cursor, withinDays, hideFull);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return response.body(page.events());
   }
 
   @DeleteMapping("/{eventId}")
@@ -35,14 +50,25 @@ public class EventsController {
     return ResponseEntity.noContent().build();
   }
 
+  @DeleteMapping("/profile-cache")
+  public ResponseEntity<Void> evictProfileCache() {
+    eventsService.evictCurrentUserProfile();
+    return ResponseEntity.noContent().build();
+  }
+
   @PostMapping("/{eventId}/join")
   public ResponseEntity<JoinEventResponse> joinEvent(@PathVariable UUID eventId) {
     return ResponseEntity.ok(eventsService.joinEvent(eventId));
   }
 
+  @PostMapping("/participations")
+  public ResponseEntity<List<ParticipationResult>> updateParticipation(
+      @RequestBody List<ParticipationRequest> requests) {
+    return ResponseEntity.ok(eventsService.updateParticipation(requests));
+  }
+
   @DeleteMapping("/{eventId}/leave")
-  public ResponseEntity<Void> leaveEvent(@PathVariable UUID eventId) {
-    eventsService.leaveEvent(eventId);
-    return ResponseEntity.noContent().build();
+  public ResponseEntity<LeaveEventResponse> leaveEvent(@PathVariable UUID eventId) {
+    return ResponseEntity.ok(eventsService.leaveEvent(eventId));
   }
 }
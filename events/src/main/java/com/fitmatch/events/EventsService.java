@@ -3,43 +3,64 @@ package com.fitmatch.events;
 import com.fitmatch.common.enums.Activity;
 import com.fitmatch.common.enums.ActivityCategory;
 import com.fitmatch.common.enums.FitnessLevel;
-import com.fitmatch.events.client.UserClient;
+import com.fitmatch.events.capacity.SeatGate;
+import com.fitmatch.events.client.UserProfileCache;
 import com.fitmatch.events.client.dto.UserDto;
+import com.fitmatch.events.config.ProfileAuthenticationToken;
 import com.fitmatch.events.dto.*;
 import com.fitmatch.events.entity.Event;
 import com.fitmatch.events.entity.EventParticipant;
+import com.fitmatch.events.entity.UuidV7Generator;
+import com.fitmatch.events.geo.NearbyEventIndex;
+import com.fitmatch.events.ranking.CompatibilityScorer;
+import com.fitmatch.events.ranking.NearbyEventRanker;
 import com.fitmatch.events.repository.EventParticipantRepository;
 import com.fitmatch.events.repository.EventsRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.LockModeType;
-import jakarta.transaction.Transactional;
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
 public class EventsService {
 
-  private static final double W_GEO = 0.40;
-  private static final double W_ACTIVITY = 0.40;
-  private static final double W_FITNESS = 0.20;
-
-  private final UserClient userClient;
+  private final UserProfileCache userProfileCache;
   private final EventsRepository eventsRepository;
   private final GeometryFactory geometryFactory;
   private final EventParticipantRepository eventParticipantRepository;
+  private final NearbyEventIndex nearbyEventIndex;
+  private final SeatGate seatGate;
+
+  @Value("${fitmatch.events.nearby.rank-in-database:false}")
+  private boolean rankInDatabase;
+
+  @Value("${fitmatch.events.nearby.page-size:20}")
+  private int pageSize;
+
+  @Value("${fitmatch.events.nearby.max-page-size:100}")
+  private int maxPageSize;
 
-  private final EntityManager entityManager;
+  @Value("${fitmatch.events.participation.max-batch-size:100}")
+  private int maxBatchSize;
 
   /**
    * Retrieves events near the authenticated user and returns them ordered by relevance to that
@@ -65,106 +86,132 @@ public class EventsService {
    *   <li><b>Weighted score</b>: <code>
    *       score = clamp(100 * (0.40*geo + 0.40*activity + 0.20*fitness), 0, 100)</code>
    * </ul>
+   *
+   * <p>Candidates come from the in-memory {@link NearbyEventIndex} once it has been loaded, and
+   * from the database otherwise. When <code>fitmatch.events.nearby.rank-in-database</code> is set,
+   * the same score is computed by {@link EventsRepository#findTopNearbyEvents} instead.
+   *
+   * <p>Results are paged with a keyset cursor over the ranking keys (score, participant count,
+   * distance, id). At most <code>limit</code> events are returned, capped at <code>
+   * fitmatch.events.nearby.max-page-size</code>; the returned cursor continues after the last one.
+   * It is only meaningful with the same filters as the page it came from.
+   *
+   * <p>Only events that have not started are returned, optionally restricted to those starting
+   * within the next <code>withinDays</code> days and, if <code>hideFull</code>, to those with a
+   * free seat.
+   *
+   * <p>The method itself is not transactional: the user profile may come from the user service, and
+   * no database connection should be held while waiting for it. Only the candidate queries run in
+   * (read-only, and with read replicas enabled, replica-routed) transactions.
    */
-  public List<GetNearbyEventsResponse> getNearbyEvents() {
+  public NearbyEventsPage getNearbyEvents(
+      Integer limit, String cursor, Integer withinDays, boolean hideFull) {
+    int pageLimit = limit == null ? pageSize : limit;
+    if (pageLimit < 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+    }
+    if (withinDays != null && withinDays < 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "withinDays must be positive");
+    }
+    pageLimit = Math.min(pageLimit, maxPageSize);
+    NearbyCursor after = cursor == null || cursor.isBlank() ? null : NearbyCursor.decode(cursor);
+
     UserDto user = getCurrentUser();
     if (!user.profileCompleted()) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User profile not completed");
     }
 
     double radiusMeters = user.searchRadiusKm() * 1000.0;
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime until = withinDays == null ? null : now.plusDays(withinDays);
 
-    FitnessLevel userFitness = FitnessLevel.valueOf(user.fitnessLevel());
+    FitnessLevel userFitness = CompatibilityScorer.fitnessLevel(user.fitnessLevel());
     List<Activity> userInterestEnums =
-        user.activityInterests().stream().map(Activity::valueOf).toList();
+        user.activityInterests().stream().map(CompatibilityScorer::activity).toList();
+
+    if (rankInDatabase) {
+      return NearbyEventsPage.of(
+          rankNearbyEventsInDatabase(
+              user,
+              userFitness,
+              userInterestEnums,
+              radiusMeters,
+              now,
+              until,
+              hideFull,
+              after,
+              pageLimit + 1),
+          pageLimit);
+    }
 
     List<NearbyEventView> nearbyEvents =
-        eventsRepository.findNearbyEvents(user.lat(), user.lon(), radiusMeters);
+        nearbyEventIndex.isReady()
+            ? nearbyEventIndex.findWithin(user.lat(), user.lon(), radiusMeters, until, hideFull)
+            : eventsRepository.findNearbyEvents(
+                user.lat(),
+                user.lon(),
+                radiusMeters,
+                now,
+                until != null,
+                until != null ? until : now,
+                hideFull);
+
+    CompatibilityScorer scorer =
+        CompatibilityScorer.of(userFitness, userInterestEnums, radiusMeters);
+    List<GetNearbyEventsResponse> ranked =
+        NearbyEventRanker.topK(nearbyEvents, scorer, after, pageLimit + 1);
+    return NearbyEventsPage.of(ranked, pageLimit);
+  }
 
-    return nearbyEvents.stream()
+  private List<GetNearbyEventsResponse> rankNearbyEventsInDatabase(
+      UserDto user,
+      FitnessLevel userFitness,
+      List<Activity> userInterests,
+      double radiusMeters,
+      LocalDateTime now,
+      LocalDateTime until,
+      boolean hideFull,
+      NearbyCursor after,
+      int limit) {
+    Set<ActivityCategory> interestCategories =
+        userInterests.stream().map(Activity::category).collect(Collectors.toSet());
+    String relatedActivities =
+        Arrays.stream(Activity.values())
+            .filter(a -> !userInterests.contains(a) && interestCategories.contains(a.category()))
+            .map(Activity::name)
+            .collect(Collectors.joining(","));
+
+    return eventsRepository
+        .findTopNearbyEvents(
+            user.lat(),
+            user.lon(),
+            radiusMeters,
+            now,
+            until != null,
+            until != null ? until : now,
+            hideFull,
+            String.join(",", user.activityInterests()),
+            relatedActivities,
+            userFitness.ordinal(),
+            CompatibilityScorer.W_GEO,
+            CompatibilityScorer.W_ACTIVITY,
+            CompatibilityScorer.W_FITNESS,
+            after != null,
+            after != null ? after.score() : 0.0,
+            after != null ? after.participantCount() : 0,
+            after != null ? after.distance() : 0.0,
+            after != null ? after.id().toString() : "",
+            limit)
+        .stream()
         .map(
             event ->
-                NearbyEventDto.builder()
-                    .id(event.getId())
-                    .title(event.getTitle())
-                    .activity(event.getActivity())
-                    .fitnessLevel(event.getFitnessLevel())
-                    .startsAt(event.getStartsAt())
-                    .capacity(event.getCapacity())
-                    .participantCount(event.getParticipantCount())
-                    .distance(event.getDistance())
-                    .lat(event.getLat())
-                    .lng(event.getLng())
+                GetNearbyEventsResponse.builder()
+                    .compatibilityScore(event.getScore())
+                    .event(NearbyEventRanker.toNearbyEventDto(event))
                     .build())
-        .map(
-            event -> {
-              double score = computeScore(event, userFitness, userInterestEnums, radiusMeters);
-              return GetNearbyEventsResponse.builder()
-                  .compatibilityScore(Math.max(0.0, Math.min(100.0, score)))
-                  .event(event)
-                  .build();
-            })
-        .sorted(
-            Comparator.<GetNearbyEventsResponse>comparingDouble(
-                    response -> -response.compatibilityScore())
-                .thenComparing(
-                    (GetNearbyEventsResponse response) ->
-                        response.event().getParticipantCount() == null
-                            ? 0
-                            : response.event().getParticipantCount(),
-                    Comparator.reverseOrder())
-                .thenComparingDouble(response -> response.event().getDistance()))
         .toList();
   }
 
-  private static double computeScore(
-      NearbyEventDto ev,
-      FitnessLevel userFitness,
-      List<Activity> userInterestEnums,
-      double radiusMeters) {
-    double geoCloseness = 1.0 - Math.min(ev.getDistance() / radiusMeters, 1.0);
-
-    Activity eventActivity = Activity.valueOf(ev.getActivity());
-    double activityAffinity = bestActivityAffinity(eventActivity, userInterestEnums);
-
-    FitnessLevel eventFitness = FitnessLevel.valueOf(ev.getFitnessLevel());
-    double fitnessAffinity = fitnessAffinity(eventFitness, userFitness);
-
-    double combined =
-        W_GEO * geoCloseness + W_ACTIVITY * activityAffinity + W_FITNESS * fitnessAffinity;
-
-    return 100.0 * combined;
-  }
-
-  private static double bestActivityAffinity(Activity event, List<Activity> userActivities) {
-    if (userActivities.isEmpty()) return 0.0;
-
-    if (userActivities.contains(event)) return 1.0;
-
-    ActivityCategory eventCategory = event.category();
-    for (Activity activity : userActivities) {
-      if (activity.category() == eventCategory) return 0.5;
-    }
-    return 0.0;
-  }
-
-  private static double fitnessAffinity(FitnessLevel eventFitnessLevel, FitnessLevel user) {
-    int distance = Math.abs(rank(eventFitnessLevel) - rank(user));
-    return switch (distance) {
-      case 0 -> 1.0;
-      case 1 -> 0.5;
-      default -> 0.0;
-    };
-  }
-
-  private static int rank(FitnessLevel fitnessLevel) {
-    return switch (fitnessLevel) {
-      case BEGINNER -> 0;
-      case INTERMEDIATE -> 1;
-      case ADVANCED -> 2;
-    };
-  }
-
   @Transactional
   public EventDto createEvent(CreateEventRequest createEventRequest) {
     Point point =
@@ -191,6 +238,7 @@ public class EventsService {
     event.setParticipantCount(1);
 
     Event saved = eventsRepository.save(event);
+    nearbyEventIndex.put(saved);
     return EventDto.builder()
         .eventId(saved.getId())
         .title(saved.getTitle())
@@ -203,47 +251,43 @@ public class EventsService {
         .build();
   }
 
+  /**
+   * Joins the current user to the event without holding a lock across the whole operation.
+   *
+   * <p>A seat is reserved by a single conditional update that only increments the participant count
+   * while the event is below capacity and has not started. The participant row is then inserted
+   * with the unique <code>(event_id, user_id)</code> constraint guarding against duplicate joins;
+   * if it already exists the transaction rolls back and releases the seat.
+   */
   @Transactional
   public JoinEventResponse joinEvent(UUID eventId) {
     UserDto currentUser = getCurrentUser();
-    // Use pessimistic lock to prevent race conditions
-    Event event = entityManager.find(Event.class, eventId, LockModeType.PESSIMISTIC_WRITE);
-    if (event == null) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
-    }
+    LocalDateTime now = LocalDateTime.now();
 
-    boolean alreadyAttending =
-        eventParticipantRepository.existsByEventIdAndUserId(eventId, currentUser.id());
-    if (alreadyAttending) {
-      throw new ResponseStatusException(
-          HttpStatus.BAD_REQUEST, "User is already attending this event");
-    }
-
-    if (event.getStartsAt().isBefore(java.time.LocalDateTime.now())) {
-      throw new ResponseStatusException(
+    switch (seatGate.tryAcquire(eventId)) {
+      case FULL -> throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Event is at full capacity");
+      case STARTED -> throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST, "Cannot join an event that has already started");
+      case ADMITTED -> {}
     }
-
-    // Check capacity AFTER acquiring the lock to ensure accuracy
-    if (event.getParticipantCount() >= event.getCapacity()) {
-      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event is at full capacity");
+    if (eventsRepository.reserveSeat(eventId, now) == 0) {
+      throw joinRejection(eventId, currentUser.id(), now);
     }
-
-    try {
-      EventParticipant participant =
-          EventParticipant.builder().userId(currentUser.id()).event(event).build();
-
-      eventParticipantRepository.save(participant);
-
-      // Only increment count after successful participant creation
-      event.setParticipantCount(event.getParticipantCount() + 1);
-      eventsRepository.save(event);
-
-    } catch (Exception e) {
-      // If anything fails, the transaction will be rolled back automatically
+    if (eventParticipantRepository.insertIfAbsent(UuidV7Generator.next(), eventId, currentUser.id())
+        == 0) {
       throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Failed to join event. Please try again.");
+          HttpStatus.BAD_REQUEST, "User is already attending this event");
     }
+
+    Event event =
+        eventsRepository
+            .findById(eventId)
+            .orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+    nearbyEventIndex.updateParticipantCount(eventId, event.getParticipantCount());
+    seatGate.update(eventId, event.getParticipantCount());
+
     return JoinEventResponse.builder()
         .message("Successfully joined the event!")
         .event(
@@ -260,48 +304,216 @@ public class EventsService {
         .build();
   }
 
+  /** Explains why no seat could be reserved for the user. */
+  private ResponseStatusException joinRejection(UUID eventId, UUID userId, LocalDateTime now) {
+    Event event = eventsRepository.findById(eventId).orElse(null);
+    if (event == null) {
+      return new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+    }
+    if (eventParticipantRepository.existsByEventIdAndUserId(eventId, userId)) {
+      return new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "User is already attending this event");
+    }
+    if (!event.getStartsAt().isAfter(now)) {
+      return new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Cannot join an event that has already started");
+    }
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event is at full capacity");
+  }
+
+  /**
+   * Deletes the event and its participants with two set-based statements, so the cost does not grow
+   * with the number of participants. The event row is locked first so that no join can add a
+   * participant between the two deletes.
+   */
   @Transactional
   public void deleteEvent(UUID eventId) {
     Event event =
         eventsRepository
-            .findById(eventId)
+            .findByIdForUpdate(eventId)
             .orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
 
-    UserDto currentUser = getCurrentUser();
-    if (!event.getOrganizerId().equals(currentUser.id())) {
+    if (!event.getOrganizerId().equals(getCurrentUserId())) {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST, "Only the event organizer can delete this event");
     }
 
-    eventsRepository.delete(event);
+    eventParticipantRepository.bulkDeleteByEventId(eventId);
+    eventsRepository.bulkDeleteById(eventId);
+    nearbyEventIndex.remove(eventId);
+    seatGate.evict(eventId);
   }
 
+  /**
+   * Removes the current user from the event with one delete and one conditional decrement, without
+   * loading or re-saving the event. The organizer's own participation is excluded by the delete
+   * itself; the event is only looked at to explain a failed leave.
+   */
   @Transactional
-  public void leaveEvent(UUID eventId) {
-    Event event =
-        eventsRepository
-            .findById(eventId)
-            .orElseThrow(
-                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+  public LeaveEventResponse leaveEvent(UUID eventId) {
+    UUID userId = getCurrentUserId();
+
+    if (eventParticipantRepository.deleteAttendee(eventId, userId) == 0) {
+      UUID organizerId =
+          eventsRepository
+              .findOrganizerIdById(eventId)
+              .orElseThrow(
+                  () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+      if (organizerId.equals(userId)) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, "You can't leave your own event, please delete");
+      }
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User is not attending this event");
+    }
 
-    UserDto currentUser = getCurrentUser();
-    if (currentUser.id().equals(event.getOrganizerId())) {
+    int participantCount = eventsRepository.releaseSeat(eventId).orElse(0);
+    nearbyEventIndex.updateParticipantCount(eventId, participantCount);
+    seatGate.update(eventId, participantCount);
+    return LeaveEventResponse.builder().eventId(eventId).participantCount(participantCount).build();
+  }
+
+  /**
+   * Applies a batch of joins and leaves in one transaction and reports the outcome of each item.
+   *
+   * <p>All events in the batch are locked up front in id order, so concurrent batches cannot
+   * deadlock. Items are applied in request order against the locked events; a rejected item does
+   * not affect the others. New participants are inserted in one batch, removed ones deleted in one
+   * statement, and each changed event is updated once on commit.
+   */
+  @Transactional
+  public List<ParticipationResult> updateParticipation(List<ParticipationRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
       throw new ResponseStatusException(
-          HttpStatus.BAD_REQUEST, "You can't leave your own event, please delete");
+          HttpStatus.BAD_REQUEST,
+          String.format("A batch must contain between 1 and %d items", maxBatchSize));
     }
-    EventParticipant attendee =
-        eventParticipantRepository
-            .findByEventIdAndUserId(eventId, currentUser.id())
-            .orElseThrow(
-                () ->
-                    new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "User is not attending this event"));
+    UUID currentUserId = getCurrentUserId();
 
-    eventParticipantRepository.delete(attendee);
+    Set<UUID> eventIds = new HashSet<>();
+    Set<UUID> userIds = new HashSet<>();
+    for (ParticipationRequest request : requests) {
+      if (request.eventId() != null) eventIds.add(request.eventId());
+      userIds.add(request.userId() != null ? request.userId() : currentUserId);
+    }
 
-    event.setParticipantCount(Math.max(0, event.getParticipantCount() - 1));
-    eventsRepository.save(event);
+    Map<UUID, Event> events = new HashMap<>();
+    for (Event event : eventsRepository.findAllByIdForUpdate(eventIds)) {
+      events.put(event.getId(), event);
+    }
+    Map<Participation, EventParticipant> attending = new HashMap<>();
+    for (EventParticipant participant :
+        eventParticipantRepository.findByEventIdInAndUserIdIn(events.keySet(), userIds)) {
+      attending.put(
+          new Participation(participant.getEvent().getId(), participant.getUserId()), participant);
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    List<EventParticipant> joined = new ArrayList<>();
+    List<EventParticipant> left = new ArrayList<>();
+    Map<UUID, Event> changed = new LinkedHashMap<>();
+    List<ParticipationResult> results = new ArrayList<>(requests.size());
+
+    for (ParticipationRequest request : requests) {
+      UUID userId = request.userId() != null ? request.userId() : currentUserId;
+      ParticipationResult.ParticipationResultBuilder result =
+          ParticipationResult.builder()
+              .eventId(request.eventId())
+              .userId(userId)
+              .action(request.action());
+      try {
+        Event event = request.eventId() == null ? null : events.get(request.eventId());
+        applyParticipation(
+            request.action(), event, userId, currentUserId, now, attending, joined, left);
+        changed.put(event.getId(), event);
+        results.add(
+            result
+                .status(HttpStatus.OK.value())
+                .message("OK")
+                .participantCount(event.getParticipantCount())
+                .build());
+      } catch (ResponseStatusException e) {
+        results.add(result.status(e.getStatusCode().value()).message(e.getReason()).build());
+      }
+    }
+
+    // Deletes run first so a leave and re-join in the same batch does not hit the unique constraint
+    if (!left.isEmpty()) eventParticipantRepository.deleteAllInBatch(left);
+    if (!joined.isEmpty()) eventParticipantRepository.saveAll(joined);
+    for (Event event : changed.values()) {
+      nearbyEventIndex.updateParticipantCount(event.getId(), event.getParticipantCount());
+      seatGate.update(event.getId(), event.getParticipantCount());
+    }
+    return results;
+  }
+
+  private static void applyParticipation(
+      ParticipationAction action,
+      Event event,
+      UUID userId,
+      UUID currentUserId,
+      LocalDateTime now,
+      Map<Participation, EventParticipant> attending,
+      List<EventParticipant> joined,
+      List<EventParticipant> left) {
+    if (action == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Action is required");
+    }
+    if (event == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+    }
+    if (!userId.equals(currentUserId) && !event.getOrganizerId().equals(currentUserId)) {
+      throw new ResponseStatusException(
+          HttpStatus.FORBIDDEN, "Only the event organizer can enroll or remove other users");
+    }
+
+    Participation key = new Participation(event.getId(), userId);
+    switch (action) {
+      case JOIN -> {
+        if (attending.containsKey(key)) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "User is already attending this event");
+        }
+        if (!event.getStartsAt().isAfter(now)) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "Cannot join an event that has already started");
+        }
+        if (event.getParticipantCount() >= event.getCapacity()) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event is at full capacity");
+        }
+        EventParticipant participant =
+            EventParticipant.builder().userId(userId).event(event).build();
+        attending.put(key, participant);
+        joined.add(participant);
+        event.setParticipantCount(event.getParticipantCount() + 1);
+      }
+      case LEAVE -> {
+        if (userId.equals(event.getOrganizerId())) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "The organizer can't leave their own event, please delete");
+        }
+        EventParticipant participant = attending.remove(key);
+        if (participant == null) {
+          throw new ResponseStatusException(
+              HttpStatus.NOT_FOUND, "User is not attending this event");
+        }
+        if (!joined.remove(participant)) left.add(participant);
+        event.setParticipantCount(Math.max(0, event.getParticipantCount() - 1));
+      }
+    }
+  }
+
+  /** Drops the authenticated user's cached profile so the next request fetches it again. */
+  public void evictCurrentUserProfile() {
+    userProfileCache.evict(getCurrentUserId());
+  }
+
+  private UUID getCurrentUserId() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    if (auth == null || auth.getDetails() == null) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authentication found");
+    }
+    return UUID.fromString((String) auth.getDetails());
   }
 
   private UserDto getCurrentUser() {
@@ -309,11 +521,16 @@ public class EventsService {
     if (auth == null || auth.getDetails() == null) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authentication found");
     }
+    if (auth instanceof ProfileAuthenticationToken profileAuth) {
+      return profileAuth.getProfile();
+    }
     String userId = (String) auth.getDetails();
-    UserDto user = userClient.getById(userId);
+    UserDto user = userProfileCache.get(userId);
     if (user == null) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
     }
     return user;
   }
+
+  private record Participation(UUID eventId, UUID userId) {}
 }
@@ -0,0 +1,55 @@
+package com.fitmatch.events.archive;
+
+import com.fitmatch.events.repository.EventsRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves events in <code>events_default</code> that started more than <code>retention</code> ago,
+ * with their participants, into the archive tables. Such rows belong to months without a partition
+ * of their own; monthly partitions are archived whole by {@link EventPartitionMaintainer}, so this
+ * never deletes rows from them.
+ *
+ * <p>Events are archived in batches, each in its own short transaction, until a batch comes back
+ * short. Rows locked by concurrent requests are skipped and picked up by the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventArchiver {
+
+  private final EventsRepository eventsRepository;
+
+  @Value("${fitmatch.events.archive.enabled:false}")
+  private boolean enabled;
+
+  @Value("${fitmatch.events.archive.retention:P1D}")
+  private Duration retention;
+
+  @Value("${fitmatch.events.archive.batch-size:500}")
+  private int batchSize;
+
+  @Scheduled(
+      fixedDelayString = "${fitmatch.events.archive.interval:PT1H}",
+      initialDelayString = "${fitmatch.events.archive.initial-delay:PT1M}")
+  public void archive() {
+    if (!enabled) return;
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    int total = 0;
+    try {
+      int archived;
+      do {
+        archived = eventsRepository.archiveStartedBefore(cutoff, batchSize);
+        total += archived;
+      } while (archived == batchSize);
+      if (total > 0) log.info("Archived {} events that started before {}", total, cutoff);
+    } catch (RuntimeException e) {
+      log.warn("Failed to archive past events ({} archived so far): {}", total, e.getMessage());
+    }
+  }
+}
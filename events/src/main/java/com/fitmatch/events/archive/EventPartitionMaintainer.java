@@ -0,0 +1,188 @@
+package com.fitmatch.events.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the monthly partitions of the <code>events</code> table rolling.
+ *
+ * <p>Partitions are named <code>events_pYYYY_MM</code> and cover one calendar month of <code>
+ * starts_at</code>. Each run creates the partitions for the current month and the next <code>
+ * months-ahead</code> months. Events created further ahead wait in <code>events_default</code> and
+ * are moved into their month's partition when it is created.
+ *
+ * <p>A past partition is archived whole once its entire month is older than the archive retention:
+ * it is detached, its events and their participants are copied into the archive tables and the
+ * partition is dropped, so old months never leave dead rows behind in <code>events</code>.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventPartitionMaintainer {
+
+  static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+  static final String DEFAULT_PARTITION = "events_default";
+  private static final String PARTITION_PREFIX = "events_p";
+
+  /** The insertable (non-generated) columns of <code>events</code>, comma separated. */
+  private static final String INSERTABLE_COLUMNS_SQL =
+      """
+      SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+      FROM information_schema.columns
+      WHERE table_schema = current_schema() AND table_name = 'events' AND is_generated = 'NEVER'
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${fitmatch.events.partitions.enabled:false}")
+  private boolean enabled;
+
+  @Value("${fitmatch.events.partitions.months-ahead:3}")
+  private int monthsAhead;
+
+  @Value("${fitmatch.events.archive.retention:P1D}")
+  private Duration retention;
+
+  @Scheduled(
+      fixedDelayString = "${fitmatch.events.partitions.interval:PT6H}",
+      initialDelayString = "${fitmatch.events.partitions.initial-delay:PT0S}")
+  public void maintain() {
+    if (!enabled) return;
+    List<String> existing = existingPartitions();
+    YearMonth current = YearMonth.now();
+    for (int i = 0; i <= monthsAhead; i++) {
+      YearMonth month = current.plusMonths(i);
+      if (!existing.contains(partitionName(month))) createPartition(month);
+    }
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    for (String partition : existing) {
+      YearMonth month = monthOf(partition);
+      if (month != null && !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+        archivePartition(partition);
+      }
+    }
+  }
+
+  static String partitionName(YearMonth month) {
+    return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+  }
+
+  static YearMonth monthOf(String partition) {
+    if (!partition.startsWith(PARTITION_PREFIX)) return null;
+    try {
+      return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Creates the month's partition and moves the month's events out of <code>events_default</code>
+   * into it. The default partition is detached meanwhile, since Postgres refuses to create a
+   * partition whose rows still sit in the default one; the transaction holds <code>events</code>
+   * locked until the default partition is attached again.
+   */
+  private void createPartition(YearMonth month) {
+    String name = partitionName(month);
+    try {
+      Integer moved =
+          transactionTemplate.execute(
+              status -> {
+                jdbcTemplate.execute(
+                    String.format("ALTER TABLE events DETACH PARTITION %s", DEFAULT_PARTITION));
+                jdbcTemplate.execute(
+                    String.format(
+                        "CREATE TABLE %s PARTITION OF events FOR VALUES FROM ('%s') TO ('%s')",
+                        name, month.atDay(1), month.plusMonths(1).atDay(1)));
+                String columns = jdbcTemplate.queryForObject(INSERTABLE_COLUMNS_SQL, String.class);
+                int count =
+                    jdbcTemplate.update(
+                        String.format(
+                            """
+                            WITH moved AS (
+                              DELETE FROM %s
+                              WHERE starts_at >= '%s' AND starts_at < '%s'
+                              RETURNING %s
+                            )
+                            INSERT INTO events (%s) SELECT %s FROM moved
+                            """,
+                            DEFAULT_PARTITION,
+                            month.atDay(1),
+                            month.plusMonths(1).atDay(1),
+                            columns,
+                            columns,
+                            columns));
+                jdbcTemplate.execute(
+                    String.format(
+                        "ALTER TABLE events ATTACH PARTITION %s DEFAULT", DEFAULT_PARTITION));
+                return count;
+              });
+      log.info(
+          "Created events partition {}, moving {} events out of {}",
+          name,
+          moved,
+          DEFAULT_PARTITION);
+    } catch (DataAccessException e) {
+      log.warn("Failed to create partition {}: {}", name, e.getMostSpecificCause().getMessage());
+    }
+  }
+
+  private List<String> existingPartitions() {
+    return jdbcTemplate.queryForList(
+        """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'events'::regclass
+        """,
+        String.class);
+  }
+
+  /**
+   * Detaches the partition, copies its events and their participants into the archive tables and
+   * drops it, all in one transaction. Only the participants are deleted row by row.
+   */
+  private void archivePartition(String partition) {
+    try {
+      Integer archived =
+          transactionTemplate.execute(
+              status -> {
+                jdbcTemplate.execute(
+                    String.format("ALTER TABLE events DETACH PARTITION %s", partition));
+                jdbcTemplate.update(
+                    String.format(
+                        """
+                        WITH moved AS (
+                          DELETE FROM event_participants
+                          WHERE event_id IN (SELECT id FROM %s)
+                          RETURNING *
+                        )
+                        INSERT INTO event_participants_archive SELECT * FROM moved
+                        """,
+                        partition));
+                int count =
+                    jdbcTemplate.update(
+                        String.format("INSERT INTO events_archive SELECT * FROM %s", partition));
+                jdbcTemplate.execute(String.format("DROP TABLE %s", partition));
+                return count;
+              });
+      log.info("Archived events partition {} with {} events", partition, archived);
+    } catch (DataAccessException e) {
+      log.warn(
+          "Failed to archive partition {}: {}", partition, e.getMostSpecificCause().getMessage());
+    }
+  }
+}
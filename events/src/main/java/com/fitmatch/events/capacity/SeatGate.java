@@ -0,0 +1,143 @@
+package com.fitmatch.events.capacity;
+
+import com.fitmatch.events.repository.EventsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory seat counters that turn away joins for full or started events before they reach the
+ * database.
+ *
+ * <p>Each counter is seeded from the event's persisted participant count and adjusted atomically as
+ * joins and leaves go through. The database stays authoritative: the gate only admits a join to the
+ * conditional seat reservation, and a seat taken here is handed back if the surrounding transaction
+ * rolls back. Counters expire after a short time so that joins and leaves handled by other
+ * instances are picked up on the next seed.
+ */
+@Component
+public class SeatGate {
+
+  private final EventsRepository eventsRepository;
+  private final boolean enabled;
+  private final Cache<UUID, Seats> seats;
+
+  public SeatGate(
+      EventsRepository eventsRepository,
+      @Value("${fitmatch.events.seat-gate.enabled:false}") boolean enabled,
+      @Value("${fitmatch.events.seat-gate.ttl:PT10S}") Duration ttl,
+      @Value("${fitmatch.events.seat-gate.maximum-size:10000}") long maximumSize) {
+    this.eventsRepository = eventsRepository;
+    this.enabled = enabled;
+    this.seats = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Takes a seat if the event looks joinable. Rejects only events known to be full or started;
+   * unknown events are admitted so the caller can report them.
+   */
+  public Admission tryAcquire(UUID eventId) {
+    if (!enabled) return Admission.ADMITTED;
+
+    Seats current = seatsFor(eventId);
+    if (current == null) return Admission.ADMITTED;
+    if (!current.startsAt().isAfter(LocalDateTime.now())) return Admission.STARTED;
+
+    int taken;
+    do {
+      taken = current.taken().get();
+      if (taken >= current.capacity()) return Admission.FULL;
+    } while (!current.taken().compareAndSet(taken, taken + 1));
+
+    onRollback(() -> decrement(current));
+    return Admission.ADMITTED;
+  }
+
+  /** Records the persisted participant count once the surrounding transaction commits. */
+  public void update(UUID eventId, int participantCount) {
+    if (!enabled) return;
+    afterCommit(
+        () -> {
+          Seats current = seats.getIfPresent(eventId);
+          if (current != null) current.taken().set(participantCount);
+        });
+  }
+
+  /** Forgets the event once the surrounding transaction commits. */
+  public void evict(UUID eventId) {
+    if (!enabled) return;
+    afterCommit(() -> seats.invalidate(eventId));
+  }
+
+  /**
+   * Loads the counter outside the cache's own <code>compute</code>, which would hold a monitor (and
+   * pin a virtual thread's carrier) for the whole database read. Concurrent misses may both read
+   * the event, but only the first counter is kept.
+   */
+  private Seats seatsFor(UUID eventId) {
+    Seats current = seats.getIfPresent(eventId);
+    if (current != null) return current;
+    Seats loaded = load(eventId);
+    if (loaded == null) return null;
+    Seats raced = seats.asMap().putIfAbsent(eventId, loaded);
+    return raced != null ? raced : loaded;
+  }
+
+  private Seats load(UUID eventId) {
+    return eventsRepository
+        .findById(eventId)
+        .map(
+            event ->
+                new Seats(
+                    event.getCapacity(),
+                    event.getStartsAt(),
+                    new AtomicInteger(event.getParticipantCount())))
+        .orElse(null);
+  }
+
+  private static void decrement(Seats current) {
+    current.taken().updateAndGet(taken -> Math.max(0, taken - 1));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  private static void onRollback(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status != STATUS_COMMITTED) action.run();
+            }
+          });
+    }
+  }
+
+  private record Seats(int capacity, LocalDateTime startsAt, AtomicInteger taken) {}
+
+  /** Outcome of {@link #tryAcquire}. */
+  public enum Admission {
+    ADMITTED,
+    FULL,
+    STARTED
+  }
+}
@@ -0,0 +1,41 @@
+package com.fitmatch.events.client;
+
+import com.fitmatch.common.TrustedIdentity;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Headers of an incoming request that are passed on to the user service: the caller's <code>
+ * Authorization</code> and the gateway's trusted identity headers.
+ *
+ * <p>They are copied into an immutable map on the request thread, so calls made later or on other
+ * threads never read a request that Tomcat may already have recycled.
+ */
+public final class ForwardedHeaders {
+
+  private ForwardedHeaders() {}
+
+  public static Map<String, String> of(HttpServletRequest request) {
+    Map<String, String> headers = new HashMap<>();
+    String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authorization != null && !authorization.isBlank()) {
+      headers.put(HttpHeaders.AUTHORIZATION, authorization);
+    }
+    for (String name : TrustedIdentity.HEADERS) {
+      String value = request.getHeader(name);
+      if (value != null) headers.put(name, value);
+    }
+    return Map.copyOf(headers);
+  }
+
+  /** Returns the headers of the request bound to the current thread, or none outside a request. */
+  public static Map<String, String> current() {
+    return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs
+        ? of(attrs.getRequest())
+        : Map.of();
+  }
+}
@@ -0,0 +1,37 @@
+package com.fitmatch.events.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/** Keeps the latencies of the most recent calls and reports percentiles over them. */
+class LatencyTracker {
+
+  private final long[] samples;
+  private int next;
+  private int size;
+
+  LatencyTracker(int window) {
+    this.samples = new long[window];
+  }
+
+  synchronized void record(Duration latency) {
+    samples[next] = latency.toNanos();
+    next = (next + 1) % samples.length;
+    if (size < samples.length) size++;
+  }
+
+  /**
+   * Returns the given percentile (0 to 1) of the recorded latencies, or <code>null</code> until at
+   * least <code>minSamples</code> calls have been recorded.
+   */
+  Duration percentile(double percentile, int minSamples) {
+    long[] sorted;
+    synchronized (this) {
+      if (size < Math.max(1, minSamples)) return null;
+      sorted = Arrays.copyOf(samples, size);
+    }
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+  }
+}
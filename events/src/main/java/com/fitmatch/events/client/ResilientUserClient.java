@@ -0,0 +1,208 @@
+package com.fitmatch.events.client;
+
+import com.fitmatch.common.concurrent.Bulkhead;
+import com.fitmatch.events.client.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Fetches user profiles through {@link UserClient} without letting one slow or failing user service
+ * instance stall the caller.
+ *
+ * <ul>
+ *   <li>Connect and read timeouts are set on the Feign client (<code>
+ *       spring.cloud.openfeign.client.config.user</code>).
+ *   <li>A call still running after the hedge delay (the configured percentile of recent latencies)
+ *       is hedged with a second call. The round-robin load balancer sends it to the next user
+ *       service instance. Whichever call succeeds first wins.
+ *   <li>Every call holds a {@link Bulkhead} permit, so hedging cannot exceed the concurrency cap. A
+ *       hedge that is still waiting for a permit when the other call answers is dropped.
+ *   <li>A circuit breaker stops calling the user service while most recent calls fail or are slow.
+ *   <li>When the call fails or the circuit is open, the last profile successfully fetched for the
+ *       user is returned instead. Client errors (4xx) are passed through and do not count as
+ *       failures.
+ * </ul>
+ *
+ * <p>The caller's {@link ForwardedHeaders} are captured on the calling thread and passed to every
+ * attempt explicitly, since attempts may run after the incoming request has completed.
+ */
+@Slf4j
+@Component
+public class ResilientUserClient {
+
+  private final UserClient userClient;
+  private final Bulkhead bulkhead;
+  private final CircuitBreaker circuitBreaker;
+  private final Cache<UUID, UserDto> lastKnown;
+  private final LatencyTracker latencies;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final boolean hedgingEnabled;
+  private final double hedgePercentile;
+  private final Duration minHedgeDelay;
+  private final int hedgeMinSamples;
+
+  public ResilientUserClient(
+      UserClient userClient,
+      @Value("${fitmatch.events.user-client.bulkhead.max-concurrent:50}") int maxConcurrent,
+      @Value("${fitmatch.events.user-client.bulkhead.max-wait:PT1S}") Duration maxWait,
+      @Value("${fitmatch.events.user-client.circuit-breaker.failure-rate-threshold:50}")
+          float failureRateThreshold,
+      @Value("${fitmatch.events.user-client.circuit-breaker.slow-call-duration:PT2S}")
+          Duration slowCallDuration,
+      @Value("${fitmatch.events.user-client.circuit-breaker.window-size:50}") int windowSize,
+      @Value("${fitmatch.events.user-client.circuit-breaker.open-duration:PT10S}")
+          Duration openDuration,
+      @Value("${fitmatch.events.user-client.hedging.enabled:true}") boolean hedgingEnabled,
+      @Value("${fitmatch.events.user-client.hedging.percentile:0.95}") double hedgePercentile,
+      @Value("${fitmatch.events.user-client.hedging.min-delay:PT0.05S}") Duration minHedgeDelay,
+      @Value("${fitmatch.events.user-client.hedging.min-samples:20}") int hedgeMinSamples,
+      @Value("${fitmatch.events.user-client.last-known.ttl:P1D}") Duration lastKnownTtl,
+      @Value("${fitmatch.events.user-client.last-known.maximum-size:50000}")
+          long lastKnownMaximumSize) {
+    this.userClient = userClient;
+    this.bulkhead = new Bulkhead("user service", maxConcurrent, maxWait);
+    this.circuitBreaker =
+        CircuitBreaker.of(
+            "user",
+            CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(Math.min(10, windowSize))
+                .waitDurationInOpenState(openDuration)
+                .ignoreExceptions(FeignException.FeignClientException.class)
+                .build());
+    this.lastKnown =
+        Caffeine.newBuilder()
+            .expireAfterWrite(lastKnownTtl)
+            .maximumSize(lastKnownMaximumSize)
+            .build();
+    this.latencies = new LatencyTracker(256);
+    this.hedgingEnabled = hedgingEnabled;
+    this.hedgePercentile = hedgePercentile;
+    this.minHedgeDelay = minHedgeDelay;
+    this.hedgeMinSamples = hedgeMinSamples;
+  }
+
+  public UserDto getById(String userId) {
+    UUID id = UUID.fromString(userId);
+    Map<String, String> headers = ForwardedHeaders.current();
+    try {
+      UserDto user = circuitBreaker.executeSupplier(() -> hedged(userId, headers));
+      if (user != null) lastKnown.put(id, user);
+      return user;
+    } catch (FeignException.FeignClientException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      UserDto fallback = lastKnown.getIfPresent(id);
+      if (fallback == null) {
+        throw e instanceof ResponseStatusException status
+            ? status
+            : new ResponseStatusException(
+                HttpStatus.SERVICE_UNAVAILABLE, "User service is unavailable", e);
+      }
+      log.warn(
+          "User service call failed ({}), using last known profile of {}",
+          e instanceof CallNotPermittedException ? "circuit open" : e.getMessage(),
+          userId);
+      return fallback;
+    }
+  }
+
+  CircuitBreaker.State circuitState() {
+    return circuitBreaker.getState();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Calls the user service, hedging with a second call if the first has not answered within the
+   * hedge delay, and returns the first successful answer.
+   */
+  private UserDto hedged(String userId, Map<String, String> headers) {
+    CompletableFuture<UserDto> result = new CompletableFuture<>();
+    AtomicInteger pending = new AtomicInteger(1);
+    submit(userId, headers, result, pending);
+
+    try {
+      Duration delay = hedgeDelay();
+      if (delay == null) return result.get();
+      try {
+        return result.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        pending.incrementAndGet();
+        submit(userId, headers, result, pending);
+        return result.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted", e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause
+          ? cause
+          : new IllegalStateException(e.getCause());
+    }
+  }
+
+  private void submit(
+      String userId,
+      Map<String, String> headers,
+      CompletableFuture<UserDto> result,
+      AtomicInteger pending) {
+    executor.execute(
+        () -> {
+          if (result.isDone()) return;
+          try {
+            bulkhead.call(
+                () -> {
+                  // The other call may have answered while this one waited for a permit
+                  if (result.isDone()) return null;
+                  long start = System.nanoTime();
+                  UserDto user = userClient.getById(userId, headers);
+                  latencies.record(Duration.ofNanos(System.nanoTime() - start));
+                  result.complete(user);
+                  return null;
+                });
+          } catch (RuntimeException e) {
+            // A client error is the answer; otherwise wait for the other call, if any
+            if (e instanceof FeignException.FeignClientException
+                || pending.decrementAndGet() == 0) {
+              result.completeExceptionally(e);
+            }
+          }
+        });
+  }
+
+  /** Returns <code>null</code> when calls should not be hedged. */
+  private Duration hedgeDelay() {
+    if (!hedgingEnabled) return null;
+    Duration observed = latencies.percentile(hedgePercentile, hedgeMinSamples);
+    if (observed == null) return null;
+    return observed.compareTo(minHedgeDelay) > 0 ? observed : minHedgeDelay;
+  }
+}
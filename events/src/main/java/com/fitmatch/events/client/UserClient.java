@@ -2,13 +2,16 @@ package com.fitmatch.events.client;
 
 import com.fitmatch.events.client.config.FeignConfig;
 import com.fitmatch.events.client.dto.UserDto;
+import java.util.Map;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @FeignClient(name = "user", path = "/api/users", configuration = FeignConfig.class)
 public interface UserClient {
 
+  /** <code>headers</code> are sent as is; see {@link ForwardedHeaders}. */
   @GetMapping("/{id}")
-  UserDto getById(@PathVariable("id") String id);
+  UserDto getById(@PathVariable("id") String id, @RequestHeader Map<String, String> headers);
 }
@@ -0,0 +1,57 @@
+package com.fitmatch.events.client;
+
+import com.fitmatch.events.client.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local cache of user profiles fetched through {@link ResilientUserClient}, bounded in size and
+ * expiring entries after a fixed time. The user service evicts an entry when that user completes
+ * their profile; the TTL bounds staleness if that notification is lost.
+ */
+@Component
+public class UserProfileCache {
+
+  private final ResilientUserClient userClient;
+  private final Cache<UUID, UserDto> profiles;
+
+  public UserProfileCache(
+      ResilientUserClient userClient,
+      @Value("${fitmatch.events.user-cache.ttl:PT5M}") Duration ttl,
+      @Value("${fitmatch.events.user-cache.maximum-size:10000}") long maximumSize) {
+    this.userClient = userClient;
+    this.profiles = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Returns the cached profile, loading it from the user service on a miss. The remote call is made
+   * outside the cache's <code>compute</code> so it does not pin a virtual thread's carrier;
+   * concurrent misses for the same user may each fetch the profile.
+   */
+  public UserDto get(String userId) {
+    UUID id = UUID.fromString(userId);
+    UserDto cached = profiles.getIfPresent(id);
+    if (cached != null) return cached;
+    UserDto loaded = userClient.getById(userId);
+    if (loaded != null) profiles.put(id, loaded);
+    return loaded;
+  }
+
+  /** Returns the cached profile, or <code>null</code> without calling the user service. */
+  public UserDto getIfPresent(UUID userId) {
+    return profiles.getIfPresent(userId);
+  }
+
+  /** Caches a profile loaded by a caller that talks to the user service itself. */
+  public void put(UserDto user) {
+    profiles.put(user.id(), user);
+  }
+
+  public void evict(UUID userId) {
+    profiles.invalidate(userId);
+  }
+}
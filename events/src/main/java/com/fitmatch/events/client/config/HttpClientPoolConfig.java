@@ -0,0 +1,28 @@
+package com.fitmatch.events.client.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the stats of the pooled Apache HttpClient that Feign clients share as <code>
+ * httpcomponents.httpclient.pool.*</code> metrics, visible under <code>/actuator/metrics</code>.
+ * Pool limits are set through <code>spring.cloud.openfeign.httpclient.*</code>.
+ */
+@Configuration
+public class HttpClientPoolConfig {
+
+  @Bean
+  MeterBinder feignConnectionPoolMetrics(
+      ObjectProvider<HttpClientConnectionManager> connectionManager) {
+    return registry -> {
+      if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+      }
+    };
+  }
+}
@@ -1,12 +1,16 @@
 package com.fitmatch.events.config;
 
 import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TokenClaims;
+import com.fitmatch.common.TrustedIdentity;
+import com.fitmatch.events.client.dto.UserDto;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,12 +22,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
+  private final TrustedIdentity trustedIdentity;
 
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
 
+    Optional<TrustedIdentity.Identity> identity = trustedIdentity.verify(request::getHeader);
+    if (identity.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+      // The gateway signs the token's profile claims along with the identity
+      if (identity.get().profile() != null) {
+        SecurityContextHolder.getContext()
+            .setAuthentication(new ProfileAuthenticationToken(toUserDto(identity.get().profile())));
+      } else {
+        UsernamePasswordAuthenticationToken auth =
+            new UsernamePasswordAuthenticationToken(
+                identity.get().email(), null, Collections.emptyList());
+        auth.setDetails(identity.get().userId());
+
+        SecurityContextHolder.getContext().setAuthentication(auth);
+      }
+    }
+
     String authHeader = request.getHeader("Authorization");
 
     if (authHeader != null
@@ -31,14 +52,16 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
         && SecurityContextHolder.getContext().getAuthentication() == null) {
       String jwtToken = authHeader.substring(7);
       try {
-        if (jwtService.validateToken(jwtToken)) {
-          String userEmail = jwtService.getEmailFromToken(jwtToken);
-          String userId = jwtService.getIdFromToken(jwtToken);
-
+        TokenClaims claims = jwtService.parse(jwtToken);
+        if (claims.profile() != null) {
+          SecurityContextHolder.getContext()
+              .setAuthentication(new ProfileAuthenticationToken(toUserDto(claims.profile())));
+        } else {
           UsernamePasswordAuthenticationToken auth =
-              new UsernamePasswordAuthenticationToken(userEmail, null, Collections.emptyList());
+              new UsernamePasswordAuthenticationToken(
+                  claims.email(), null, Collections.emptyList());
 
-          auth.setDetails(userId);
+          auth.setDetails(claims.userId());
 
           SecurityContextHolder.getContext().setAuthentication(auth);
         }
@@ -49,4 +72,17 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  private static UserDto toUserDto(com.fitmatch.common.dto.UserDto profile) {
+    return UserDto.builder()
+        .id(profile.id())
+        .email(profile.email())
+        .fitnessLevel(profile.fitnessLevel().name())
+        .activityInterests(profile.activityInterests().stream().map(Enum::name).toList())
+        .lat(profile.lat())
+        .lon(profile.lon())
+        .searchRadiusKm(profile.searchRadiusKm())
+        .profileCompleted(true)
+        .build();
+  }
 }
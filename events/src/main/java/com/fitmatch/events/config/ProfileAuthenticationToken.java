@@ -0,0 +1,22 @@
+package com.fitmatch.events.config;
+
+import com.fitmatch.events.client.dto.UserDto;
+import java.util.Collections;
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Authentication built from a token that carries the user's profile claims, so the profile can be
+ * read from the security context instead of being fetched from the user service.
+ */
+@Getter
+public class ProfileAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+  private final transient UserDto profile;
+
+  public ProfileAuthenticationToken(UserDto profile) {
+    super(profile.email(), null, Collections.emptyList());
+    this.profile = profile;
+    setDetails(profile.id().toString());
+  }
+}
@@ -0,0 +1,95 @@
+package com.fitmatch.events.config;
+
+import com.fitmatch.common.concurrent.DataSourceBulkheadPostProcessor;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+/**
+ * Sends read-only transactions to the configured read replicas and everything else to the primary
+ * configured under <code>spring.datasource</code>.
+ *
+ * <p>The application datasource is a {@link LazyConnectionDataSourceProxy}: it only fetches a
+ * physical connection once the first statement runs, by which time the transaction manager has
+ * marked the connection read-only or not, and read-only connections come from the {@link
+ * ReplicaRoutingDataSource}, which falls back to the same primary pool. Replicas share the
+ * primary's credentials.
+ *
+ * <p>The primary pool is configured under <code>spring.datasource.hikari</code>, as without
+ * replicas. Each replica pool starts from the same settings, overridden by <code>
+ * fitmatch.events.read-replicas.hikari</code>. With the database bulkhead enabled, the primary and
+ * each replica pool get their own bulkhead sized to that pool, so replicas add read capacity
+ * instead of sharing the primary's limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fitmatch.events.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  private static final String PRIMARY_POOL_PREFIX = "spring.datasource.hikari";
+  private static final String REPLICA_POOL_PREFIX = "fitmatch.events.read-replicas.hikari";
+
+  @Bean
+  @ConfigurationProperties(PRIMARY_POOL_PREFIX)
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      DataSourceProperties properties,
+      HikariDataSource primaryDataSource,
+      DataSourceBulkheadPostProcessor bulkheads,
+      Environment environment,
+      @Value("${fitmatch.events.read-replicas.urls}") List<String> urls,
+      @Value("${fitmatch.events.read-replicas.max-lag:PT5S}") Duration maxLag) {
+    Binder binder = Binder.get(environment);
+    List<DataSource> replicas =
+        urls.stream()
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(url -> bulkheads.wrap(replicaDataSource(properties, binder, url)))
+            .toList();
+    return new ReplicaRoutingDataSource(bulkheads.wrap(primaryDataSource), replicas, maxLag);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    // The same primary the replicas fall back to, so both paths share the primary's bulkhead
+    LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(replicaRoutingDataSource.primary());
+    dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+    return dataSource;
+  }
+
+  @Bean
+  public SchedulingConfigurer replicaLagCheck(
+      ReplicaRoutingDataSource replicaRoutingDataSource,
+      @Value("${fitmatch.events.read-replicas.check-interval:PT5S}") Duration interval) {
+    return registrar ->
+        registrar.addFixedDelayTask(replicaRoutingDataSource::checkReplicas, interval);
+  }
+
+  private static HikariDataSource replicaDataSource(
+      DataSourceProperties properties, Binder binder, String url) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+    binder.bind(PRIMARY_POOL_PREFIX, Bindable.ofInstance(dataSource));
+    binder.bind(REPLICA_POOL_PREFIX, Bindable.ofInstance(dataSource));
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+}
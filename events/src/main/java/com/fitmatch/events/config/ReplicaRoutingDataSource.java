@@ -0,0 +1,128 @@
+package com.fitmatch.events.config;
+
+import com.fitmatch.common.concurrent.BulkheadFullException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out connections to read replicas in round-robin order, skipping replicas that are
+ * unreachable or lag the primary by more than <code>maxLag</code>, and falling back to the primary
+ * when none is usable.
+ *
+ * <p>Replica health is refreshed by {@link #checkReplicas()}; a replica that fails to hand out a
+ * connection is taken out of rotation until the next successful check.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  /**
+   * Seconds since the last replayed transaction, or <code>0</code> when the replica has replayed
+   * everything it received (an idle primary would otherwise look like growing lag).
+   */
+  static final String REPLICATION_LAG_SQL =
+      """
+      SELECT CASE
+               WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+               ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+             END
+      """;
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final Duration maxLag;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+    this.primary = primary;
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.maxLag = maxLag;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Replica replica = nextHealthyReplica();
+    if (replica != null) {
+      try {
+        return replica.dataSource.getConnection();
+      } catch (SQLException e) {
+        replica.healthy = false;
+        log.warn("Read replica unavailable, using the primary: {}", e.getMessage());
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    Replica replica = nextHealthyReplica();
+    if (replica != null) {
+      try {
+        return replica.dataSource.getConnection(username, password);
+      } catch (SQLException e) {
+        replica.healthy = false;
+        log.warn("Read replica unavailable, using the primary: {}", e.getMessage());
+      }
+    }
+    return primary.getConnection(username, password);
+  }
+
+  /** Measures each replica's lag and takes it in or out of rotation accordingly. */
+  public void checkReplicas() {
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get(i);
+      try {
+        Double lagSeconds =
+            new JdbcTemplate(replica.dataSource).queryForObject(REPLICATION_LAG_SQL, Double.class);
+        boolean healthy = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+        if (replica.healthy != healthy) {
+          log.info(
+              "Read replica {} is {} (lag {}s)", i, healthy ? "in sync" : "lagging", lagSeconds);
+        }
+        replica.healthy = healthy;
+      } catch (RuntimeException e) {
+        // A replica whose bulkhead is full is busy, not unreachable
+        if (BulkheadFullException.findIn(e) != null) continue;
+        if (replica.healthy) log.warn("Read replica {} is unreachable: {}", i, e.getMessage());
+        replica.healthy = false;
+      }
+    }
+  }
+
+  DataSource primary() {
+    return primary;
+  }
+
+  List<DataSource> replicas() {
+    return replicas.stream().map(replica -> replica.dataSource).toList();
+  }
+
+  void setHealthy(int replica, boolean healthy) {
+    replicas.get(replica).healthy = healthy;
+  }
+
+  private Replica nextHealthyReplica() {
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.healthy) return replica;
+    }
+    return null;
+  }
+
+  private static final class Replica {
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    private Replica(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+  }
+}
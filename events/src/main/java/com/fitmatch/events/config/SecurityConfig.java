@@ -1,6 +1,8 @@
 package com.fitmatch.events.config;
 
 import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TrustedIdentity;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,7 +18,13 @@ public class SecurityConfig {
   public SecurityFilterChain filterChain(
       HttpSecurity http, HeaderAuthenticationFilter headerAuthFilter) throws Exception {
     return http.csrf(AbstractHttpConfigurer::disable)
-        .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+        // Async dispatches resume requests that were already authorized, e.g. reactive returns
+        .authorizeHttpRequests(
+            auth ->
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .anyRequest()
+                    .authenticated())
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .addFilterBefore(headerAuthFilter, UsernamePasswordAuthenticationFilter.class)
@@ -24,7 +32,8 @@ public class SecurityConfig {
   }
 
   @Bean
-  public HeaderAuthenticationFilter headerAuthenticationFilter(JwtService jwtService) {
-    return new HeaderAuthenticationFilter(jwtService);
+  public HeaderAuthenticationFilter headerAuthenticationFilter(
+      JwtService jwtService, TrustedIdentity trustedIdentity) {
+    return new HeaderAuthenticationFilter(jwtService, trustedIdentity);
   }
 }
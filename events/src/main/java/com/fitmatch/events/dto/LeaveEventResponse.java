@@ -0,0 +1,10 @@
+package com.fitmatch.events.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.UUID;
+import lombok.Builder;
+
+@Builder
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record LeaveEventResponse(UUID eventId, int participantCount) {}
@@ -0,0 +1,58 @@
+package com.fitmatch.events.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Position of the last event on a page of nearby events, in ranking order: score descending,
+ * participant count descending, distance ascending, id ascending.
+ *
+ * <p>Ids are compared by their canonical string form, which matches PostgreSQL's ordering of <code>
+ * uuid</code> values.
+ */
+public record NearbyCursor(double score, int participantCount, double distance, UUID id) {
+
+  public static NearbyCursor of(GetNearbyEventsResponse response) {
+    NearbyEventDto event = response.event();
+    return new NearbyCursor(
+        response.compatibilityScore(),
+        event.getParticipantCount() == null ? 0 : event.getParticipantCount(),
+        event.getDistance(),
+        event.getId());
+  }
+
+  public static NearbyCursor decode(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = decoded.split(":");
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("Unexpected cursor format");
+      }
+      return new NearbyCursor(
+          Double.parseDouble(parts[0]),
+          Integer.parseInt(parts[1]),
+          Double.parseDouble(parts[2]),
+          UUID.fromString(parts[3]));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+
+  public String encode() {
+    String raw = score + ":" + participantCount + ":" + distance + ":" + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Returns whether an event with the given keys comes after this cursor. */
+  public boolean precedes(double score, int participantCount, double distance, UUID id) {
+    if (Double.compare(this.score, score) != 0) return this.score > score;
+    if (this.participantCount != participantCount) return this.participantCount > participantCount;
+    if (Double.compare(this.distance, distance) != 0) return this.distance < distance;
+    return this.id.toString().compareTo(id.toString()) < 0;
+  }
+}
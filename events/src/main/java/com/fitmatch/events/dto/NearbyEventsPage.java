@@ -0,0 +1,23 @@
+package com.fitmatch.events.dto;
+
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+public record NearbyEventsPage(List<GetNearbyEventsResponse> events, String nextCursor) {
+
+  /**
+   * Builds a page from the first <code>limit</code> ranked events. <code>ranked</code> holds up to
+   * one extra event, whose presence means there is a next page.
+   */
+  public static NearbyEventsPage of(List<GetNearbyEventsResponse> ranked, int limit) {
+    if (ranked.size() <= limit) {
+      return NearbyEventsPage.builder().events(ranked).build();
+    }
+    List<GetNearbyEventsResponse> page = ranked.subList(0, limit);
+    return NearbyEventsPage.builder()
+        .events(page)
+        .nextCursor(NearbyCursor.of(page.get(limit - 1)).encode())
+        .build();
+  }
+}
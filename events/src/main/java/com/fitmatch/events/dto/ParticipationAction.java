@@ -0,0 +1,6 @@
+package com.fitmatch.events.dto;
+
+public enum ParticipationAction {
+  JOIN,
+  LEAVE
+}
@@ -0,0 +1,12 @@
+package com.fitmatch.events.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.UUID;
+
+/**
+ * One item of a batch join/leave request. When <code>userId</code> is omitted the item applies to
+ * the current user; enrolling or removing anyone else requires organizing the event.
+ */
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record ParticipationRequest(UUID eventId, UUID userId, ParticipationAction action) {}
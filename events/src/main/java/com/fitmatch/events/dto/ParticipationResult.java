@@ -0,0 +1,16 @@
+package com.fitmatch.events.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.UUID;
+import lombok.Builder;
+
+@Builder
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public record ParticipationResult(
+    UUID eventId,
+    UUID userId,
+    ParticipationAction action,
+    int status,
+    String message,
+    Integer participantCount) {}
@@ -0,0 +1,5 @@
+package com.fitmatch.events.dto;
+
+public interface RankedNearbyEventView extends NearbyEventView {
+  Double getScore();
+}
@@ -12,6 +12,7 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 import org.locationtech.jts.geom.Point;
 
@@ -25,7 +26,7 @@ import org.locationtech.jts.geom.Point;
 public class Event {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   private UUID id;
 
   @Column(nullable = false)
@@ -57,7 +58,16 @@ public class Event {
   @Column(nullable = false, columnDefinition = "geometry(Point, 4326)")
   private Point location;
 
-  @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+  /** Geography copy of <code>location</code>, generated by the database on every write. */
+  @JdbcTypeCode(SqlTypes.GEOGRAPHY)
+  @Column(
+      insertable = false,
+      updatable = false,
+      columnDefinition = "geography(Point, 4326) GENERATED ALWAYS AS (location::geography) STORED")
+  private Point geog;
+
+  // Only persists cascade; deleteEvent removes participants with a bulk delete instead
+  @OneToMany(mappedBy = "event", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
   private Set<EventParticipant> eventParticipants = new HashSet<>();
 
   @CreationTimestamp private Instant createdAt;
@@ -5,9 +5,15 @@ import java.time.Instant;
 import java.util.UUID;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
-@Table(name = "event_participants")
+@Table(
+    name = "event_participants",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "event_participants_event_user_uidx",
+            columnNames = {"event_id", "user_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,14 +22,17 @@ import org.hibernate.annotations.CreationTimestamp;
 public class EventParticipant {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   private UUID id;
 
   @Column(name = "user_id", nullable = false)
   private UUID userId;
 
   @ManyToOne(fetch = FetchType.LAZY)
-  @JoinColumn(name = "event_id", nullable = false)
+  @JoinColumn(
+      name = "event_id",
+      nullable = false,
+      foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
   private Event event;
 
   @CreationTimestamp private Instant joinedAt;
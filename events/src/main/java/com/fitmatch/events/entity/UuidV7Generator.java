@@ -0,0 +1,26 @@
+package com.fitmatch.events.entity;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp followed
+ * by random bits. New ids sort after older ones, so primary key inserts append to the right edge of
+ * the B-tree instead of landing on random pages.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+  @Override
+  public UUID generateUuid(SharedSessionContractImplementor session) {
+    return next();
+  }
+
+  public static UUID next() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+}
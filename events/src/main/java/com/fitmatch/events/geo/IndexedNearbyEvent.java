@@ -0,0 +1,60 @@
+package com.fitmatch.events.geo;
+
+import com.fitmatch.events.dto.NearbyEventView;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A {@link NearbyEventView} answered from {@link NearbyEventIndex} instead of the database. */
+record IndexedNearbyEvent(NearbyEventIndex.Entry entry, double distance)
+    implements NearbyEventView {
+
+  @Override
+  public UUID getId() {
+    return entry.id();
+  }
+
+  @Override
+  public String getTitle() {
+    return entry.title();
+  }
+
+  @Override
+  public String getActivity() {
+    return entry.activity();
+  }
+
+  @Override
+  public String getFitnessLevel() {
+    return entry.fitnessLevel();
+  }
+
+  @Override
+  public LocalDateTime getStartsAt() {
+    return entry.startsAt();
+  }
+
+  @Override
+  public Integer getCapacity() {
+    return entry.capacity();
+  }
+
+  @Override
+  public Integer getParticipantCount() {
+    return entry.participantCount();
+  }
+
+  @Override
+  public Double getDistance() {
+    return distance;
+  }
+
+  @Override
+  public Double getLat() {
+    return entry.lat();
+  }
+
+  @Override
+  public Double getLng() {
+    return entry.lng();
+  }
+}
@@ -0,0 +1,244 @@
+package com.fitmatch.events.geo;
+
+import com.fitmatch.events.dto.NearbyEventView;
+import com.fitmatch.events.entity.Event;
+import com.fitmatch.events.repository.EventsRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process spatial index of upcoming events, bucketed into a fixed latitude/longitude grid.
+ *
+ * <p>Radius queries visit only the grid cells overlapping the query's bounding box and filter the
+ * candidates by great-circle (haversine) distance. Distances are computed on a sphere, so they can
+ * differ from PostGIS' spheroidal <code>ST_Distance</code> by a fraction of a percent.
+ *
+ * <p>The index is rebuilt from the database on a fixed delay, which also picks up writes made by
+ * other instances; local writes are applied incrementally once their transaction commits. Until the
+ * first rebuild succeeds {@link #isReady()} is <code>false</code> and callers should query the
+ * database instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearbyEventIndex {
+
+  private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+  private static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180.0;
+
+  private final EventsRepository eventsRepository;
+
+  @Value("${fitmatch.events.nearby-index.enabled:false}")
+  private boolean enabled;
+
+  @Value("${fitmatch.events.nearby-index.cells-per-degree:10}")
+  private int cellsPerDegree;
+
+  private volatile Snapshot snapshot;
+
+  public boolean isReady() {
+    return enabled && snapshot != null;
+  }
+
+  /**
+   * Returns the upcoming events within <code>radiusMeters</code> of the given point that start no
+   * later than <code>until</code> (unless it is <code>null</code>) and, if <code>hideFull</code>,
+   * still have a free seat, in no particular order.
+   */
+  public List<NearbyEventView> findWithin(
+      double lat, double lng, double radiusMeters, LocalDateTime until, boolean hideFull) {
+    Snapshot current = snapshot;
+    if (current == null) {
+      throw new IllegalStateException("Nearby event index is not loaded");
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    double latSpan = radiusMeters / METERS_PER_DEGREE_LAT;
+    double cosLat = Math.cos(Math.toRadians(lat));
+    double lngSpan = cosLat < 1e-6 ? 180.0 : Math.min(180.0, latSpan / cosLat);
+
+    int minLatCell = latCell(Math.max(-90.0, lat - latSpan));
+    int maxLatCell = latCell(Math.min(90.0, lat + latSpan));
+    int lngCells = 360 * cellsPerDegree;
+    int minLngCell = (int) Math.floor((lng - lngSpan + 180.0) * cellsPerDegree);
+    int maxLngCell = (int) Math.floor((lng + lngSpan + 180.0) * cellsPerDegree);
+    if (maxLngCell - minLngCell >= lngCells) {
+      minLngCell = 0;
+      maxLngCell = lngCells - 1;
+    }
+
+    List<NearbyEventView> result = new ArrayList<>();
+    for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+      for (int lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+        Set<UUID> ids = current.cells().get(cellKey(latCell, Math.floorMod(lngCell, lngCells)));
+        if (ids == null) continue;
+
+        for (UUID id : ids) {
+          Entry entry = current.entries().get(id);
+          if (entry == null || !entry.startsAt().isAfter(now)) continue;
+          if (until != null && entry.startsAt().isAfter(until)) continue;
+          if (hideFull && entry.isFull()) continue;
+
+          double distance = haversineMeters(lat, lng, entry.lat(), entry.lng());
+          if (distance <= radiusMeters) {
+            result.add(new IndexedNearbyEvent(entry, distance));
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Adds or replaces an event once the surrounding transaction (if any) commits. */
+  public void put(Event event) {
+    if (!enabled) return;
+    Entry entry = Entry.of(event);
+    afterCommit(() -> put(snapshot, entry));
+  }
+
+  /** Removes an event once the surrounding transaction (if any) commits. */
+  public void remove(UUID eventId) {
+    if (!enabled) return;
+    afterCommit(
+        () -> {
+          Snapshot current = snapshot;
+          if (current == null) return;
+          Entry removed = current.entries().remove(eventId);
+          if (removed != null) {
+            Set<UUID> ids = current.cells().get(cellKey(removed.lat(), removed.lng()));
+            if (ids != null) ids.remove(eventId);
+          }
+        });
+  }
+
+  /** Records a new participant count once the surrounding transaction (if any) commits. */
+  public void updateParticipantCount(UUID eventId, int participantCount) {
+    if (!enabled) return;
+    afterCommit(
+        () -> {
+          Snapshot current = snapshot;
+          if (current == null) return;
+          current
+              .entries()
+              .computeIfPresent(
+                  eventId, (id, entry) -> entry.withParticipantCount(participantCount));
+        });
+  }
+
+  /**
+   * Rebuilds the index from the database. Incremental updates that land while the rebuild is
+   * running may be lost; the next rebuild picks them up again.
+   */
+  @Scheduled(
+      fixedDelayString = "${fitmatch.events.nearby-index.refresh-interval:PT30S}",
+      initialDelayString = "${fitmatch.events.nearby-index.initial-delay:PT0S}")
+  public void refresh() {
+    if (!enabled) return;
+    try {
+      Snapshot rebuilt = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+      for (Event event : eventsRepository.findByStartsAtAfter(LocalDateTime.now())) {
+        put(rebuilt, Entry.of(event));
+      }
+      snapshot = rebuilt;
+      log.debug("Nearby event index rebuilt with {} events", rebuilt.entries().size());
+    } catch (RuntimeException e) {
+      log.warn("Failed to rebuild nearby event index: {}", e.getMessage());
+    }
+  }
+
+  private void put(Snapshot target, Entry entry) {
+    if (target == null) return;
+    target.entries().put(entry.id(), entry);
+    target
+        .cells()
+        .computeIfAbsent(cellKey(entry.lat(), entry.lng()), key -> ConcurrentHashMap.newKeySet())
+        .add(entry.id());
+  }
+
+  private int latCell(double lat) {
+    return (int) Math.floor((lat + 90.0) * cellsPerDegree);
+  }
+
+  private long cellKey(double lat, double lng) {
+    int lngCells = 360 * cellsPerDegree;
+    int lngCell = Math.floorMod((int) Math.floor((lng + 180.0) * cellsPerDegree), lngCells);
+    return cellKey(latCell(lat), lngCell);
+  }
+
+  private static long cellKey(int latCell, int lngCell) {
+    return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+  }
+
+  private static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLng = Math.toRadians(lng2 - lng1);
+    double a =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2)
+                * Math.sin(dLng / 2);
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  private record Snapshot(Map<UUID, Entry> entries, Map<Long, Set<UUID>> cells) {}
+
+  record Entry(
+      UUID id,
+      String title,
+      String activity,
+      String fitnessLevel,
+      LocalDateTime startsAt,
+      Integer capacity,
+      Integer participantCount,
+      double lat,
+      double lng) {
+
+    static Entry of(Event event) {
+      return new Entry(
+          event.getId(),
+          event.getTitle(),
+          event.getActivity().name(),
+          event.getFitnessLevel().name(),
+          event.getStartsAt(),
+          event.getCapacity(),
+          event.getParticipantCount(),
+          event.getLocation().getY(),
+          event.getLocation().getX());
+    }
+
+    boolean isFull() {
+      return participantCount != null && capacity != null && participantCount >= capacity;
+    }
+
+    Entry withParticipantCount(int count) {
+      return new Entry(id, title, activity, fitnessLevel, startsAt, capacity, count, lat, lng);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.fitmatch.events.ranking;
+
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import com.fitmatch.events.dto.NearbyEventView;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compatibility score of an event for one user, precompiled once per request.
+ *
+ * <p>The user's interests are folded into an activity bitmask and a category bitmask, and fitness
+ * affinity is read from a table indexed by ordinal, so scoring an event is a handful of map
+ * lookups, bit tests and arithmetic with no allocation. See <code>EventsService.getNearbyEvents
+ * </code> for the formula.
+ */
+public final class CompatibilityScorer implements ToDoubleFunction<NearbyEventView> {
+
+  public static final double W_GEO = 0.40;
+  public static final double W_ACTIVITY = 0.40;
+  public static final double W_FITNESS = 0.20;
+
+  private static final Map<String, Activity> ACTIVITIES = new HashMap<>();
+  private static final Map<String, FitnessLevel> FITNESS_LEVELS = new HashMap<>();
+  private static final double[][] FITNESS_AFFINITY;
+
+  static {
+    for (Activity activity : Activity.values()) ACTIVITIES.put(activity.name(), activity);
+    for (FitnessLevel level : FitnessLevel.values()) FITNESS_LEVELS.put(level.name(), level);
+
+    int levels = FitnessLevel.values().length;
+    FITNESS_AFFINITY = new double[levels][levels];
+    for (int event = 0; event < levels; event++) {
+      for (int user = 0; user < levels; user++) {
+        FITNESS_AFFINITY[event][user] =
+            switch (Math.abs(event - user)) {
+              case 0 -> 1.0;
+              case 1 -> 0.5;
+              default -> 0.0;
+            };
+      }
+    }
+  }
+
+  private final int activityMask;
+  private final int categoryMask;
+  private final double[] fitnessAffinity;
+  private final double radiusMeters;
+
+  private CompatibilityScorer(
+      int activityMask, int categoryMask, FitnessLevel userFitness, double radiusMeters) {
+    this.activityMask = activityMask;
+    this.categoryMask = categoryMask;
+    this.fitnessAffinity = new double[FITNESS_AFFINITY.length];
+    for (int event = 0; event < fitnessAffinity.length; event++) {
+      fitnessAffinity[event] = FITNESS_AFFINITY[event][userFitness.ordinal()];
+    }
+    this.radiusMeters = radiusMeters;
+  }
+
+  public static CompatibilityScorer of(
+      FitnessLevel userFitness, Collection<Activity> userInterests, double radiusMeters) {
+    int activityMask = 0;
+    int categoryMask = 0;
+    for (Activity activity : userInterests) {
+      activityMask |= 1 << activity.ordinal();
+      categoryMask |= 1 << activity.category().ordinal();
+    }
+    return new CompatibilityScorer(activityMask, categoryMask, userFitness, radiusMeters);
+  }
+
+  public static Activity activity(String name) {
+    Activity activity = ACTIVITIES.get(name);
+    if (activity == null) throw new IllegalArgumentException("Unknown activity " + name);
+    return activity;
+  }
+
+  public static FitnessLevel fitnessLevel(String name) {
+    FitnessLevel level = FITNESS_LEVELS.get(name);
+    if (level == null) throw new IllegalArgumentException("Unknown fitness level " + name);
+    return level;
+  }
+
+  /** Returns the clamped compatibility score (0 to 100) of the event. */
+  @Override
+  public double applyAsDouble(NearbyEventView event) {
+    return score(
+        event.getDistance(), activity(event.getActivity()), fitnessLevel(event.getFitnessLevel()));
+  }
+
+  public double score(double distanceMeters, Activity activity, FitnessLevel fitnessLevel) {
+    double geoCloseness = 1.0 - Math.min(distanceMeters / radiusMeters, 1.0);
+    double combined =
+        W_GEO * geoCloseness
+            + W_ACTIVITY * activityAffinity(activity)
+            + W_FITNESS * fitnessAffinity[fitnessLevel.ordinal()];
+    return Math.max(0.0, Math.min(100.0, 100.0 * combined));
+  }
+
+  public double activityAffinity(Activity activity) {
+    if ((activityMask & (1 << activity.ordinal())) != 0) return 1.0;
+    if ((categoryMask & (1 << activity.category().ordinal())) != 0) return 0.5;
+    return 0.0;
+  }
+}
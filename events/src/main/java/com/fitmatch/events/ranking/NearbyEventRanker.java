@@ -0,0 +1,126 @@
+package com.fitmatch.events.ranking;
+
+import com.fitmatch.events.dto.GetNearbyEventsResponse;
+import com.fitmatch.events.dto.NearbyCursor;
+import com.fitmatch.events.dto.NearbyEventDto;
+import com.fitmatch.events.dto.NearbyEventView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Selects the best <code>k</code> nearby events without sorting or materializing every candidate.
+ *
+ * <p>Events are ranked by score descending, participant count descending, distance ascending and id
+ * ascending. Candidates are scored straight from their {@link NearbyEventView} and kept in a
+ * bounded min-heap whose head is the worst event retained so far, so selection is <code>
+ * O(n log k)</code>. At most <code>k</code> heap slots are allocated and they are reused on
+ * eviction; response DTOs are only built for the events that are returned.
+ */
+public final class NearbyEventRanker {
+
+  private NearbyEventRanker() {}
+
+  /**
+   * Returns the best <code>k</code> events that rank after <code>after</code> (or from the start
+   * when it is <code>null</code>), in ranking order. <code>scorer</code> must return the final,
+   * clamped compatibility score.
+   */
+  public static List<GetNearbyEventsResponse> topK(
+      Iterable<? extends NearbyEventView> events,
+      ToDoubleFunction<NearbyEventView> scorer,
+      NearbyCursor after,
+      int k) {
+    if (k <= 0) return List.of();
+
+    PriorityQueue<Candidate> heap = new PriorityQueue<>(k, (a, b) -> compare(b, a));
+    for (NearbyEventView event : events) {
+      double score = scorer.applyAsDouble(event);
+      int participantCount = participantCount(event);
+      double distance = event.getDistance();
+
+      if (after != null && !after.precedes(score, participantCount, distance, event.getId())) {
+        continue;
+      }
+
+      if (heap.size() < k) {
+        heap.add(new Candidate().set(event, score, participantCount, distance));
+      } else {
+        Candidate worst = heap.peek();
+        if (compare(score, participantCount, distance, event.getId(), worst) < 0) {
+          heap.poll();
+          heap.add(worst.set(event, score, participantCount, distance));
+        }
+      }
+    }
+
+    Candidate[] selected = heap.toArray(new Candidate[0]);
+    Arrays.sort(selected, NearbyEventRanker::compare);
+
+    List<GetNearbyEventsResponse> result = new ArrayList<>(selected.length);
+    for (Candidate candidate : selected) {
+      result.add(
+          GetNearbyEventsResponse.builder()
+              .compatibilityScore(candidate.score)
+              .event(toNearbyEventDto(candidate.event))
+              .build());
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  public static NearbyEventDto toNearbyEventDto(NearbyEventView event) {
+    return NearbyEventDto.builder()
+        .id(event.getId())
+        .title(event.getTitle())
+        .activity(event.getActivity())
+        .fitnessLevel(event.getFitnessLevel())
+        .startsAt(event.getStartsAt())
+        .capacity(event.getCapacity())
+        .participantCount(event.getParticipantCount())
+        .distance(event.getDistance())
+        .lat(event.getLat())
+        .lng(event.getLng())
+        .build();
+  }
+
+  private static int participantCount(NearbyEventView event) {
+    Integer count = event.getParticipantCount();
+    return count == null ? 0 : count;
+  }
+
+  private static int compare(Candidate a, Candidate b) {
+    return compare(a.score, a.participantCount, a.distance, a.event.getId(), b);
+  }
+
+  /** Negative when the first event ranks before <code>other</code>. */
+  private static int compare(
+      double score, int participantCount, double distance, UUID id, Candidate other) {
+    int byScore = Double.compare(other.score, score);
+    if (byScore != 0) return byScore;
+    int byParticipants = Integer.compare(other.participantCount, participantCount);
+    if (byParticipants != 0) return byParticipants;
+    int byDistance = Double.compare(distance, other.distance);
+    if (byDistance != 0) return byDistance;
+    return id.toString().compareTo(other.event.getId().toString());
+  }
+
+  private static final class Candidate {
+    private NearbyEventView event;
+    private double score;
+    private int participantCount;
+    private double distance;
+
+    private Candidate set(
+        NearbyEventView event, double score, int participantCount, double distance) {
+      this.event = event;
+      this.score = score;
+      this.participantCount = participantCount;
+      this.distance = distance;
+      return this;
+    }
+  }
+}
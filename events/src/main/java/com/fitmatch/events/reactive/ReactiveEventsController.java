@@ -0,0 +1,55 @@
+package com.fitmatch.events.reactive;
+
+import com.fitmatch.events.client.ForwardedHeaders;
+import com.fitmatch.events.dto.GetNearbyEventsResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the non-blocking nearby search as newline-delimited JSON. The request thread is released
+ * as soon as the pipeline is assembled; the response is written once the ranking completes.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events")
+@ConditionalOnProperty(name = "fitmatch.events.nearby.reactive.enabled", havingValue = "true")
+public class ReactiveEventsController {
+
+  private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private final ReactiveNearbyEvents reactiveNearbyEvents;
+
+  @GetMapping(value = "/nearby/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Mono<ResponseEntity<Flux<GetNearbyEventsResponse>>> streamNearbyEvents(
+      HttpServletRequest request,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer withinDays,
+      @RequestParam(defaultValue = "false") boolean hideFull) {
+    return reactiveNearbyEvents
+        .getNearbyEvents(
+            SecurityContextHolder.getContext().getAuthentication(),
+            ForwardedHeaders.of(request),
+            limit,
+            cursor,
+            withinDays,
+            hideFull)
+        .map(
+            page -> {
+              ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+              if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+              }
+              return response
+                  .contentType(MediaType.APPLICATION_NDJSON)
+                  .body(Flux.fromIterable(page.events()));
+            });
+  }
+}
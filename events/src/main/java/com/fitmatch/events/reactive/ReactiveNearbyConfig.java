@@ -0,0 +1,56 @@
+package com.fitmatch.events.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Beans for the non-blocking nearby search: an R2DBC {@link DatabaseClient} over a connection pool
+ * configured under <code>fitmatch.events.nearby.reactive.r2dbc</code>, and a {@link WebClient} that
+ * resolves the user service through the Eureka load balancer.
+ *
+ * <p>The pool is deliberately not a <code>ConnectionFactory</code> bean: one would make Spring
+ * Boot's JDBC <code>DataSource</code> auto-configuration back off and take JPA down with it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fitmatch.events.nearby.reactive.enabled", havingValue = "true")
+public class ReactiveNearbyConfig {
+
+  private ConnectionPool connectionPool;
+
+  @Bean
+  public DatabaseClient reactiveDatabaseClient(
+      @Value("${fitmatch.events.nearby.reactive.r2dbc.url}") String url,
+      @Value("${fitmatch.events.nearby.reactive.r2dbc.username:}") String username,
+      @Value("${fitmatch.events.nearby.reactive.r2dbc.password:}") String password,
+      @Value("${fitmatch.events.nearby.reactive.r2dbc.max-size:10}") int maxSize) {
+    ConnectionFactoryBuilder connectionFactory = ConnectionFactoryBuilder.withUrl(url);
+    if (!username.isBlank()) connectionFactory.username(username);
+    if (!password.isBlank()) connectionFactory.password(password);
+    connectionPool =
+        new ConnectionPool(
+            ConnectionPoolConfiguration.builder(connectionFactory.build())
+                .maxSize(maxSize)
+                .build());
+    return DatabaseClient.create(connectionPool);
+  }
+
+  @Bean
+  @LoadBalanced
+  public WebClient.Builder loadBalancedWebClientBuilder() {
+    return WebClient.builder();
+  }
+
+  @PreDestroy
+  void closeConnectionPool() {
+    if (connectionPool != null) connectionPool.dispose();
+  }
+}
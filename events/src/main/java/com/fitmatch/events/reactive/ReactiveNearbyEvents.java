@@ -0,0 +1,252 @@
+package com.fitmatch.events.reactive;
+
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import com.fitmatch.events.client.UserProfileCache;
+import com.fitmatch.events.client.dto.UserDto;
+import com.fitmatch.events.config.ProfileAuthenticationToken;
+import com.fitmatch.events.dto.NearbyCursor;
+import com.fitmatch.events.dto.NearbyEventView;
+import com.fitmatch.events.dto.NearbyEventsPage;
+import com.fitmatch.events.ranking.CompatibilityScorer;
+import com.fitmatch.events.ranking.NearbyEventRanker;
+import com.fitmatch.events.repository.EventsRepository;
+import io.r2dbc.spi.Readable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of <code>EventsService.getNearbyEvents</code>.
+ *
+ * <p>The user profile comes from the token or the profile cache, and otherwise from the user
+ * service over {@link WebClient}; candidates come from the same PostGIS query as {@link
+ * EventsRepository#findNearbyEvents}, run over R2DBC. Candidates are scored and ranked by {@link
+ * CompatibilityScorer} and {@link NearbyEventRanker} exactly as on the blocking path, so both
+ * return the same pages and accept each other's cursors. No thread is held while waiting on the
+ * user service or the database.
+ *
+ * <p>The user service call is bounded by <code>fitmatch.events.nearby.reactive.user-timeout</code>,
+ * matching the Feign read timeout; a timeout or failed call is reported as 503.
+ */
+@Component
+@ConditionalOnProperty(name = "fitmatch.events.nearby.reactive.enabled", havingValue = "true")
+public class ReactiveNearbyEvents {
+
+  private final DatabaseClient databaseClient;
+  private final WebClient userClient;
+  private final UserProfileCache userProfileCache;
+  private final int pageSize;
+  private final int maxPageSize;
+  private final Duration userTimeout;
+
+  public ReactiveNearbyEvents(
+      DatabaseClient databaseClient,
+      WebClient.Builder loadBalancedWebClientBuilder,
+      UserProfileCache userProfileCache,
+      @Value("${fitmatch.events.nearby.page-size:20}") int pageSize,
+      @Value("${fitmatch.events.nearby.max-page-size:100}") int maxPageSize,
+      @Value("${fitmatch.events.nearby.reactive.user-service-url:http://user}")
+          String userServiceUrl,
+      @Value("${fitmatch.events.nearby.reactive.user-timeout:PT2S}") Duration userTimeout) {
+    this.databaseClient = databaseClient;
+    this.userClient = loadBalancedWebClientBuilder.baseUrl(userServiceUrl).build();
+    this.userProfileCache = userProfileCache;
+    this.pageSize = pageSize;
+    this.maxPageSize = maxPageSize;
+    this.userTimeout = userTimeout;
+  }
+
+  /**
+   * Returns one page of nearby events for the authenticated user. <code>forwardedHeaders</code> are
+   * passed on to the user service when the profile has to be fetched.
+   */
+  public Mono<NearbyEventsPage> getNearbyEvents(
+      Authentication auth,
+      Map<String, String> forwardedHeaders,
+      Integer limit,
+      String cursor,
+      Integer withinDays,
+      boolean hideFull) {
+    int requested = limit == null ? pageSize : limit;
+    if (requested < 1) {
+      return Mono.error(
+          new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive"));
+    }
+    if (withinDays != null && withinDays < 1) {
+      return Mono.error(
+          new ResponseStatusException(HttpStatus.BAD_REQUEST, "withinDays must be positive"));
+    }
+    int pageLimit = Math.min(requested, maxPageSize);
+    NearbyCursor after;
+    try {
+      after = cursor == null || cursor.isBlank() ? null : NearbyCursor.decode(cursor);
+    } catch (ResponseStatusException e) {
+      return Mono.error(e);
+    }
+
+    return currentUser(auth, forwardedHeaders)
+        .flatMap(
+            user -> {
+              if (!user.profileCompleted()) {
+                return Mono.error(
+                    new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "User profile not completed"));
+              }
+              double radiusMeters = user.searchRadiusKm() * 1000.0;
+              FitnessLevel userFitness = CompatibilityScorer.fitnessLevel(user.fitnessLevel());
+              List<Activity> userInterests =
+                  user.activityInterests().stream().map(CompatibilityScorer::activity).toList();
+              CompatibilityScorer scorer =
+                  CompatibilityScorer.of(userFitness, userInterests, radiusMeters);
+
+              LocalDateTime now = LocalDateTime.now();
+              LocalDateTime until = withinDays == null ? null : now.plusDays(withinDays);
+              return findNearbyEvents(user, radiusMeters, now, until, hideFull)
+                  .map(
+                      candidates ->
+                          NearbyEventsPage.of(
+                              NearbyEventRanker.topK(candidates, scorer, after, pageLimit + 1),
+                              pageLimit));
+            });
+  }
+
+  private Mono<UserDto> currentUser(Authentication auth, Map<String, String> forwardedHeaders) {
+    if (auth == null || auth.getDetails() == null) {
+      return Mono.error(
+          new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authentication found"));
+    }
+    if (auth instanceof ProfileAuthenticationToken profileAuth) {
+      return Mono.just(profileAuth.getProfile());
+    }
+    UUID userId = UUID.fromString((String) auth.getDetails());
+    UserDto cached = userProfileCache.getIfPresent(userId);
+    if (cached != null) return Mono.just(cached);
+
+    return userClient
+        .get()
+        .uri("/api/users/{id}", userId)
+        .headers(headers -> forwardedHeaders.forEach(headers::set))
+        .retrieve()
+        .bodyToMono(UserDto.class)
+        .timeout(userTimeout)
+        .onErrorMap(ReactiveNearbyEvents::userServiceError)
+        .switchIfEmpty(
+            Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")))
+        .doOnNext(userProfileCache::put);
+  }
+
+  private static Throwable userServiceError(Throwable e) {
+    if (e instanceof WebClientResponseException.NotFound) {
+      return new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+    }
+    return new ResponseStatusException(
+        HttpStatus.SERVICE_UNAVAILABLE, "User service is unavailable", e);
+  }
+
+  private Mono<List<NearbyEventView>> findNearbyEvents(
+      UserDto user, double radiusMeters, LocalDateTime now, LocalDateTime until, boolean hideFull) {
+    return databaseClient
+        .sql(
+            hideFull ? EventsRepository.OPEN_NEARBY_EVENTS_SQL : EventsRepository.NEARBY_EVENTS_SQL)
+        .bind("lat", user.lat())
+        .bind("lng", user.lon())
+        .bind("radiusMeters", radiusMeters)
+        .bind("now", now)
+        .bind("hasUntil", until != null)
+        .bind("until", until != null ? until : now)
+        .map(ReactiveNearbyEvents::toView)
+        .all()
+        .collectList();
+  }
+
+  private static NearbyEventView toView(Readable row) {
+    return new NearbyRow(
+        row.get("id", UUID.class),
+        row.get("title", String.class),
+        row.get("activity", String.class),
+        row.get("fitnessLevel", String.class),
+        row.get("startsAt", LocalDateTime.class),
+        row.get("capacity", Integer.class),
+        row.get("participantCount", Integer.class),
+        row.get("distance", Double.class),
+        row.get("lat", Double.class),
+        row.get("lng", Double.class));
+  }
+
+  private record NearbyRow(
+      UUID id,
+      String title,
+      String activity,
+      String fitnessLevel,
+      LocalDateTime startsAt,
+      Integer capacity,
+      Integer participantCount,
+      Double distance,
+      Double lat,
+      Double lng)
+      implements NearbyEventView {
+
+    @Override
+    public UUID getId() {
+      return id;
+    }
+
+    @Override
+    public String getTitle() {
+      return title;
+    }
+
+    @Override
+    public String getActivity() {
+      return activity;
+    }
+
+    @Override
+    public String getFitnessLevel() {
+      return fitnessLevel;
+    }
+
+    @Override
+    public LocalDateTime getStartsAt() {
+      return startsAt;
+    }
+
+    @Override
+    public Integer getCapacity() {
+      return capacity;
+    }
+
+    @Override
+    public Integer getParticipantCount() {
+      return participantCount;
+    }
+
+    @Override
+    public Double getDistance() {
+      return distance;
+    }
+
+    @Override
+    public Double getLat() {
+      return lat;
+    }
+
+    @Override
+    public Double getLng() {
+      return lng;
+    }
+  }
+}
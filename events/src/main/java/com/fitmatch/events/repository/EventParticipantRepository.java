@@ -1,9 +1,14 @@
 package com.fitmatch.events.repository;
 
 import com.fitmatch.events.entity.EventParticipant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +17,41 @@ public interface EventParticipantRepository extends JpaRepository<EventParticipa
   Optional<EventParticipant> findByEventIdAndUserId(UUID id, UUID userId);
 
   boolean existsByEventIdAndUserId(UUID id, UUID userId);
+
+  /** Deletes all participants of the event in one statement, without loading them. */
+  @Modifying
+  @Query("DELETE FROM EventParticipant p WHERE p.event.id = :eventId")
+  int bulkDeleteByEventId(@Param("eventId") UUID eventId);
+
+  /**
+   * Removes the user from the event unless they organize it. Returns the number of deleted rows.
+   */
+  @Modifying
+  @Query(
+      """
+      DELETE FROM EventParticipant p
+      WHERE p.event.id = :eventId
+        AND p.userId = :userId
+        AND NOT EXISTS (SELECT 1 FROM Event e WHERE e.id = :eventId AND e.organizerId = :userId)
+      """)
+  int deleteAttendee(@Param("eventId") UUID eventId, @Param("userId") UUID userId);
+
+  List<EventParticipant> findByEventIdInAndUserIdIn(
+      Collection<UUID> eventIds, Collection<UUID> userIds);
+
+  /**
+   * Inserts the participant unless the user already attends the event. Returns the number of
+   * inserted rows.
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+      INSERT INTO event_participants (id, event_id, user_id, joined_at)
+      VALUES (:id, :eventId, :userId, now())
+      ON CONFLICT (event_id, user_id) DO NOTHING
+      """,
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("id") UUID id, @Param("eventId") UUID eventId, @Param("userId") UUID userId);
 }
@@ -1,20 +1,43 @@
 package com.fitmatch.events.repository;
 
 import com.fitmatch.events.dto.NearbyEventView;
+import com.fitmatch.events.dto.RankedNearbyEventView;
 import com.fitmatch.events.entity.Event;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Radius searches run against the stored <code>geog</code> column, which has its own GIST index.
+ * <code>ST_DWithin</code> on geography first tests the index bounding boxes (<code>&&</code>)
+ * against the search point expanded by the radius, so only candidates inside that box are measured.
+ *
+ * <p>Both searches only return events starting after <code>now</code>, optionally no later than
+ * <code>until</code> (when <code>hasUntil</code>) and optionally only events with a free seat (when
+ * <code>hideFull</code>). Since <code>events</code> is partitioned by month of <code>starts_at
+ * </code>, the <code>now</code> bound also prunes every past partition when the query starts.
+ *
+ * <p><code>hideFull</code> is not a bound parameter: it selects a separate query text that carries
+ * the literal {@link #OPEN_EVENTS_FILTER}. Only a literal predicate lets the planner match the
+ * partial <code>events_open_geog_idx</code>; behind <code>NOT :hideFull OR ...</code> a generic
+ * plan could never use it.
+ */
 @Repository
 public interface EventsRepository extends JpaRepository<Event, UUID> {
 
-  @Query(
-      value =
-          """
+  /** Nearby candidates before the <code>hideFull</code> filter. */
+  String NEARBY_EVENTS_SELECT =
+      """
       SELECT e.id,
              e.title,
              e.activity        AS activity,
@@ -23,22 +46,343 @@ public interface EventsRepository extends JpaRepository<Event, UUID> {
              e.capacity        AS capacity,
              e.participant_count  AS participantCount,
              ST_Distance(
-               e.location::geography,
+               e.geog,
                ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
              )                 AS distance,
              ST_Y(e.location)  AS lat,
              ST_X(e.location)  AS lng
       FROM events e
       WHERE ST_DWithin(
-              e.location::geography,
+              e.geog,
               ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
               :radiusMeters
             )
-      ORDER BY distance ASC
-      """,
+        AND e.starts_at > :now
+        AND (NOT :hasUntil OR e.starts_at <= :until)
+      """;
+
+  /**
+   * Keeps only events with a free seat, matching the predicate of <code>events_open_geog_idx</code>
+   * .
+   */
+  String OPEN_EVENTS_FILTER = """
+        AND e.participant_count < e.capacity
+      """;
+
+  /**
+   * Nearby candidates, nearest first, and {@link #OPEN_NEARBY_EVENTS_SQL} their <code>hideFull
+   * </code> variant. Also run over R2DBC by <code>ReactiveNearbyEvents</code>, hence shared
+   * constants.
+   */
+  String NEARBY_EVENTS_SQL = NEARBY_EVENTS_SELECT + "ORDER BY distance ASC\n";
+
+  String OPEN_NEARBY_EVENTS_SQL =
+      NEARBY_EVENTS_SELECT + OPEN_EVENTS_FILTER + "ORDER BY distance ASC\n";
+
+  /**
+   * Runs {@link #NEARBY_EVENTS_SQL} or, if <code>hideFull</code>, {@link #OPEN_NEARBY_EVENTS_SQL}.
+   */
+  default List<NearbyEventView> findNearbyEvents(
+      double lat,
+      double lng,
+      double radiusMeters,
+      LocalDateTime now,
+      boolean hasUntil,
+      LocalDateTime until,
+      boolean hideFull) {
+    return hideFull
+        ? findOpenNearbyEvents(lat, lng, radiusMeters, now, hasUntil, until)
+        : findAllNearbyEvents(lat, lng, radiusMeters, now, hasUntil, until);
+  }
+
+  @Transactional(readOnly = true)
+  @Query(value = NEARBY_EVENTS_SQL, nativeQuery = true)
+  List<NearbyEventView> findAllNearbyEvents(
+      @Param("lat") double lat,
+      @Param("lng") double lng,
+      @Param("radiusMeters") double radiusMeters,
+      @Param("now") LocalDateTime now,
+      @Param("hasUntil") boolean hasUntil,
+      @Param("until") LocalDateTime until);
+
+  @Transactional(readOnly = true)
+  @Query(value = OPEN_NEARBY_EVENTS_SQL, nativeQuery = true)
+  List<NearbyEventView> findOpenNearbyEvents(
+      @Param("lat") double lat,
+      @Param("lng") double lng,
+      @Param("radiusMeters") double radiusMeters,
+      @Param("now") LocalDateTime now,
+      @Param("hasUntil") boolean hasUntil,
+      @Param("until") LocalDateTime until);
+
+  /** Ranked nearby candidates up to the <code>hideFull</code> filter. */
+  String TOP_NEARBY_EVENTS_SELECT =
+      """
+      SELECT ranked.*
+      FROM (
+        SELECT e.id,
+               e.title,
+               e.activity        AS activity,
+               e.fitness_level   AS fitnessLevel,
+               e.starts_at       AS startsAt,
+               e.capacity        AS capacity,
+               e.participant_count  AS participantCount,
+               d.distance        AS distance,
+               ST_Y(e.location)  AS lat,
+               ST_X(e.location)  AS lng,
+               LEAST(100.0, GREATEST(0.0, 100.0 * (
+                 :wGeo * (1.0 - LEAST(d.distance / :radiusMeters, 1.0))
+                 + :wActivity * CASE
+                     WHEN e.activity = ANY(string_to_array(:interests, ',')) THEN 1.0
+                     WHEN e.activity = ANY(string_to_array(:relatedActivities, ',')) THEN 0.5
+                     ELSE 0.0
+                   END
+                 + :wFitness * CASE ABS(
+                       CASE e.fitness_level
+                         WHEN 'BEGINNER' THEN 0
+                         WHEN 'INTERMEDIATE' THEN 1
+                         ELSE 2
+                       END - :fitnessRank)
+                     WHEN 0 THEN 1.0
+                     WHEN 1 THEN 0.5
+                     ELSE 0.0
+                   END
+               ))) AS score
+        FROM events e
+        CROSS JOIN LATERAL (
+          SELECT ST_Distance(
+                   e.geog,
+                   ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
+                 ) AS distance
+        ) d
+        WHERE ST_DWithin(
+                e.geog,
+                ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
+                :radiusMeters
+              )
+          AND e.starts_at > :now
+          AND (NOT :hasUntil OR e.starts_at <= :until)
+      """;
+
+  /** Ranks the candidates and keeps the page after the cursor. */
+  String TOP_NEARBY_EVENTS_RANK =
+      """
+      ) ranked
+      WHERE NOT :hasCursor
+         OR ranked.score < :cursorScore
+         OR (ranked.score = :cursorScore AND (
+               ranked.participantCount < :cursorParticipantCount
+               OR (ranked.participantCount = :cursorParticipantCount AND (
+                     ranked.distance > :cursorDistance
+                     OR (ranked.distance = :cursorDistance
+                         AND ranked.id::text > :cursorId)))))
+      ORDER BY ranked.score DESC,
+               ranked.participantCount DESC,
+               ranked.distance ASC,
+               ranked.id ASC
+      LIMIT :limit
+      """;
+
+  /**
+   * Scores events within the radius the same way as <code>EventsService.getNearbyEvents</code> and
+   * returns the best <code>limit</code> of them that rank after the given cursor keys (ignored
+   * unless <code>hasCursor</code>). Activity lists are comma separated activity names; <code>
+   * fitnessRank</code> is the user's fitness level rank.
+   */
+  default List<RankedNearbyEventView> findTopNearbyEvents(
+      double lat,
+      double lng,
+      double radiusMeters,
+      LocalDateTime now,
+      boolean hasUntil,
+      LocalDateTime until,
+      boolean hideFull,
+      String interests,
+      String relatedActivities,
+      int fitnessRank,
+      double wGeo,
+      double wActivity,
+      double wFitness,
+      boolean hasCursor,
+      double cursorScore,
+      int cursorParticipantCount,
+      double cursorDistance,
+      String cursorId,
+      int limit) {
+    return hideFull
+        ? findOpenTopNearbyEvents(
+            lat,
+            lng,
+            radiusMeters,
+            now,
+            hasUntil,
+            until,
+            interests,
+            relatedActivities,
+            fitnessRank,
+            wGeo,
+            wActivity,
+            wFitness,
+            hasCursor,
+            cursorScore,
+            cursorParticipantCount,
+            cursorDistance,
+            cursorId,
+            limit)
+        : findAllTopNearbyEvents(
+            lat,
+            lng,
+            radiusMeters,
+            now,
+            hasUntil,
+            until,
+            interests,
+            relatedActivities,
+            fitnessRank,
+            wGeo,
+            wActivity,
+            wFitness,
+            hasCursor,
+            cursorScore,
+            cursorParticipantCount,
+            cursorDistance,
+            cursorId,
+            limit);
+  }
+
+  @Transactional(readOnly = true)
+  @Query(value = TOP_NEARBY_EVENTS_SELECT + TOP_NEARBY_EVENTS_RANK, nativeQuery = true)
+  List<RankedNearbyEventView> findAllTopNearbyEvents(
+      @Param("lat") double lat,
+      @Param("lng") double lng,
+      @Param("radiusMeters") double radiusMeters,
+      @Param("now") LocalDateTime now,
+      @Param("hasUntil") boolean hasUntil,
+      @Param("until") LocalDateTime until,
+      @Param("interests") String interests,
+      @Param("relatedActivities") String relatedActivities,
+      @Param("fitnessRank") int fitnessRank,
+      @Param("wGeo") double wGeo,
+      @Param("wActivity") double wActivity,
+      @Param("wFitness") double wFitness,
+      @Param("hasCursor") boolean hasCursor,
+      @Param("cursorScore") double cursorScore,
+      @Param("cursorParticipantCount") int cursorParticipantCount,
+      @Param("cursorDistance") double cursorDistance,
+      @Param("cursorId") String cursorId,
+      @Param("limit") int limit);
+
+  @Transactional(readOnly = true)
+  @Query(
+      value = TOP_NEARBY_EVENTS_SELECT + OPEN_EVENTS_FILTER + TOP_NEARBY_EVENTS_RANK,
       nativeQuery = true)
-  List<NearbyEventView> findNearbyEvents(
+  List<RankedNearbyEventView> findOpenTopNearbyEvents(
       @Param("lat") double lat,
       @Param("lng") double lng,
-      @Param("radiusMeters") double radiusMeters);
+      @Param("radiusMeters") double radiusMeters,
+      @Param("now") LocalDateTime now,
+      @Param("hasUntil") boolean hasUntil,
+      @Param("until") LocalDateTime until,
+      @Param("interests") String interests,
+      @Param("relatedActivities") String relatedActivities,
+      @Param("fitnessRank") int fitnessRank,
+      @Param("wGeo") double wGeo,
+      @Param("wActivity") double wActivity,
+      @Param("wFitness") double wFitness,
+      @Param("hasCursor") boolean hasCursor,
+      @Param("cursorScore") double cursorScore,
+      @Param("cursorParticipantCount") int cursorParticipantCount,
+      @Param("cursorDistance") double cursorDistance,
+      @Param("cursorId") String cursorId,
+      @Param("limit") int limit);
+
+  @Transactional(readOnly = true)
+  List<Event> findByStartsAtAfter(LocalDateTime startsAt);
+
+  /**
+   * Moves up to <code>batchSize</code> events in <code>events_default</code> that started before
+   * <code>cutoff</code>, with their participants, into <code>events_archive</code> and <code>
+   * event_participants_archive</code> in one statement. Returns the number of archived events, so a
+   * full batch means more may remain. Monthly partitions are archived whole by <code>
+   * EventPartitionMaintainer</code> instead.
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query(
+      value =
+          """
+      WITH moved AS (
+        DELETE FROM events_default
+        WHERE id IN (
+          SELECT id FROM events_default
+          WHERE starts_at < :cutoff
+          ORDER BY starts_at
+          LIMIT :batchSize
+          FOR UPDATE SKIP LOCKED
+        )
+        RETURNING *
+      ), moved_participants AS (
+        DELETE FROM event_participants p
+        USING moved m
+        WHERE p.event_id = m.id
+        RETURNING p.*
+      ), archived_participants AS (
+        INSERT INTO event_participants_archive
+        SELECT * FROM moved_participants
+      )
+      INSERT INTO events_archive
+      SELECT * FROM moved
+      """,
+      nativeQuery = true)
+  int archiveStartedBefore(
+      @Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+  /**
+   * Reserves a seat by incrementing the participant count, but only while the event is below
+   * capacity and has not started. Returns the number of updated rows, so <code>0</code> means no
+   * seat was reserved.
+   */
+  @Modifying(clearAutomatically = true)
+  @Query(
+      """
+      UPDATE Event e
+      SET e.participantCount = e.participantCount + 1
+      WHERE e.id = :id AND e.participantCount < e.capacity AND e.startsAt > :now
+      """)
+  int reserveSeat(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+  /**
+   * Loads the events and locks their rows in id order, so that concurrent batches acquire their
+   * locks in the same order and cannot deadlock.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT e FROM Event e WHERE e.id IN :ids ORDER BY e.id")
+  List<Event> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT e FROM Event e WHERE e.id = :id")
+  Optional<Event> findByIdForUpdate(@Param("id") UUID id);
+
+  /** Deletes the event without loading it or cascading to its participants. */
+  @Modifying(clearAutomatically = true)
+  @Query("DELETE FROM Event e WHERE e.id = :id")
+  int bulkDeleteById(@Param("id") UUID id);
+
+  @Query("SELECT e.organizerId FROM Event e WHERE e.id = :id")
+  Optional<UUID> findOrganizerIdById(@Param("id") UUID id);
+
+  /**
+   * Gives a seat back by decrementing the participant count, never below zero. Returns the new
+   * count, or empty if the event does not exist or had no participants.
+   */
+  @Query(
+      value =
+          """
+      UPDATE events
+      SET participant_count = participant_count - 1
+      WHERE id = :id AND participant_count > 0
+      RETURNING participant_count
+      """,
+      nativeQuery = true)
+  Optional<Integer> releaseSeat(@Param("id") UUID id);
 }
@@ -0,0 +1,41 @@
+-- Baseline of the schema previously created by Hibernate's ddl-auto. Every statement is
+-- idempotent so the migration also applies cleanly to databases created that way.
+
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+CREATE TABLE IF NOT EXISTS events (
+    id                uuid                     PRIMARY KEY,
+    organizer_id      uuid                     NOT NULL,
+    title             varchar(255)             NOT NULL,
+    description       varchar(1000),
+    activity          varchar(255)             NOT NULL,
+    fitness_level     varchar(255)             NOT NULL,
+    starts_at         timestamp(6)             NOT NULL,
+    capacity          integer                  NOT NULL,
+    participant_count integer                  NOT NULL DEFAULT 0,
+    location          geometry(Point, 4326)    NOT NULL,
+    created_at        timestamp(6) with time zone,
+    updated_at        timestamp(6) with time zone
+);
+
+CREATE TABLE IF NOT EXISTS event_participants (
+    id        uuid                        PRIMARY KEY,
+    user_id   uuid                        NOT NULL,
+    event_id  uuid                        NOT NULL REFERENCES events (id),
+    joined_at timestamp(6) with time zone
+);
+
+-- Radius searches filter on location::geography; without a matching expression index
+-- ST_DWithin has to cast and test every row.
+CREATE INDEX IF NOT EXISTS events_location_geog_idx
+    ON events USING GIST ((location::geography));
+
+-- Upcoming-event scans (the nearby index refresh, starts_at > now() filters). A partial index
+-- cannot use now() in its predicate because the predicate must be immutable, so this is a
+-- plain B-tree that those range scans use instead.
+CREATE INDEX IF NOT EXISTS events_starts_at_idx ON events (starts_at);
+
+-- Backs joinEvent's ON CONFLICT (event_id, user_id) and makes the per-user participant
+-- lookups index-only.
+CREATE UNIQUE INDEX IF NOT EXISTS event_participants_event_user_uidx
+    ON event_participants (event_id, user_id) INCLUDE (id);
@@ -0,0 +1,10 @@
+-- Store the geography form of location so radius searches no longer cast every row. The column
+-- is generated, so it can never drift from location.
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS geog geography(Point, 4326)
+        GENERATED ALWAYS AS (location::geography) STORED;
+
+CREATE INDEX IF NOT EXISTS events_geog_idx ON events USING GIST (geog);
+
+-- Superseded by events_geog_idx now that no query casts location.
+DROP INDEX IF EXISTS events_location_geog_idx;
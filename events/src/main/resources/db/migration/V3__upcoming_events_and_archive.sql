@@ -0,0 +1,22 @@
+-- Nearby searches that hide full events only need rows with a free seat. The predicate is
+-- immutable, so unlike a starts_at > now() filter it can back a partial index.
+CREATE INDEX IF NOT EXISTS events_open_geog_idx
+    ON events USING GIST (geog)
+    WHERE participant_count < capacity;
+
+-- Past events are moved here by the archiver so the hot tables only hold upcoming events. The
+-- archive copies the column layout, so the generated geog column becomes a plain column and rows
+-- can be inserted with SELECT *. archived_at is last so it takes its default on those inserts.
+CREATE TABLE events_archive (LIKE events INCLUDING DEFAULTS);
+ALTER TABLE events_archive
+    ADD COLUMN archived_at timestamp(6) with time zone NOT NULL DEFAULT now();
+ALTER TABLE events_archive ADD CONSTRAINT events_archive_pkey PRIMARY KEY (id);
+
+CREATE TABLE event_participants_archive (LIKE event_participants INCLUDING DEFAULTS);
+ALTER TABLE event_participants_archive
+    ADD COLUMN archived_at timestamp(6) with time zone NOT NULL DEFAULT now();
+ALTER TABLE event_participants_archive
+    ADD CONSTRAINT event_participants_archive_pkey PRIMARY KEY (id);
+
+CREATE INDEX IF NOT EXISTS event_participants_archive_user_idx
+    ON event_participants_archive (user_id);
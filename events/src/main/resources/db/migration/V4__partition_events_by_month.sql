@@ -0,0 +1,66 @@
+-- Range-partition events by starts_at, one partition per month, so upcoming-event queries only
+-- touch the current and future partitions and old months can be dropped without vacuuming.
+--
+-- A primary key on a partitioned table must include the partition key, so it becomes
+-- (id, starts_at). Foreign keys must reference a unique constraint, so event_participants can no
+-- longer reference events(id); participants are removed explicitly wherever events are.
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname
+        FROM pg_constraint
+        WHERE conrelid = 'event_participants'::regclass
+          AND confrelid = 'events'::regclass
+          AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE event_participants DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE events RENAME TO events_unpartitioned;
+ALTER INDEX IF EXISTS events_pkey RENAME TO events_unpartitioned_pkey;
+DROP INDEX IF EXISTS events_starts_at_idx;
+DROP INDEX IF EXISTS events_geog_idx;
+DROP INDEX IF EXISTS events_open_geog_idx;
+
+CREATE TABLE events (
+    LIKE events_unpartitioned INCLUDING DEFAULTS INCLUDING GENERATED,
+    PRIMARY KEY (id, starts_at)
+) PARTITION BY RANGE (starts_at);
+
+-- Rows outside every monthly partition (e.g. events created far ahead) land here until
+-- EventPartitionMaintainer creates their month.
+CREATE TABLE events_default PARTITION OF events DEFAULT;
+
+CREATE INDEX events_starts_at_idx ON events (starts_at);
+CREATE INDEX events_geog_idx ON events USING GIST (geog);
+CREATE INDEX events_open_geog_idx ON events USING GIST (geog) WHERE participant_count < capacity;
+
+-- One partition per month from the oldest stored event through three months ahead.
+DO $$
+DECLARE
+    partition_month date := date_trunc('month', LEAST(
+        COALESCE((SELECT min(starts_at) FROM events_unpartitioned), now()), now()))::date;
+    last_month date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF events FOR VALUES FROM (%L) TO (%L)',
+            'events_p' || to_char(partition_month, 'YYYY_MM'),
+            partition_month,
+            (partition_month + interval '1 month')::date);
+        partition_month := (partition_month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO events (
+    id, organizer_id, title, description, activity, fitness_level, starts_at, capacity,
+    participant_count, location, created_at, updated_at)
+SELECT id, organizer_id, title, description, activity, fitness_level, starts_at, capacity,
+       participant_count, location, created_at, updated_at
+FROM events_unpartitioned;
+
+DROP TABLE events_unpartitioned;
@@ -0,0 +1,49 @@
+package com.fitmatch.events.archive;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.events.repository.EventsRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EventArchiverTest {
+
+  private EventsRepository eventsRepository;
+  private EventArchiver archiver;
+
+  @BeforeEach
+  void setUp() {
+    eventsRepository = mock(EventsRepository.class);
+    archiver = new EventArchiver(eventsRepository);
+    ReflectionTestUtils.setField(archiver, "enabled", true);
+    ReflectionTestUtils.setField(archiver, "retention", Duration.ofDays(1));
+    ReflectionTestUtils.setField(archiver, "batchSize", 2);
+  }
+
+  @Test
+  void archivesBatchesUntilOneComesBackShort() {
+    when(eventsRepository.archiveStartedBefore(any(), eq(2))).thenReturn(2, 2, 1);
+
+    archiver.archive();
+
+    ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(eventsRepository, times(3)).archiveStartedBefore(cutoff.capture(), eq(2));
+    assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusHours(23));
+  }
+
+  @Test
+  void doesNothingWhenDisabled() {
+    ReflectionTestUtils.setField(archiver, "enabled", false);
+
+    archiver.archive();
+
+    verifyNoInteractions(eventsRepository);
+  }
+}
@@ -0,0 +1,110 @@
+package com.fitmatch.events.archive;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class EventPartitionMaintainerTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private EventPartitionMaintainer maintainer;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    maintainer = new EventPartitionMaintainer(jdbcTemplate, transactionTemplate);
+    ReflectionTestUtils.setField(maintainer, "enabled", true);
+    ReflectionTestUtils.setField(maintainer, "monthsAhead", 2);
+    ReflectionTestUtils.setField(maintainer, "retention", Duration.ofDays(1));
+  }
+
+  @Test
+  void partitionNamesRoundTrip() {
+    YearMonth month = YearMonth.of(2025, 3);
+
+    assertThat(EventPartitionMaintainer.partitionName(month)).isEqualTo("events_p2025_03");
+    assertThat(EventPartitionMaintainer.monthOf("events_p2025_03")).isEqualTo(month);
+    assertThat(EventPartitionMaintainer.monthOf("events_default")).isNull();
+  }
+
+  @Test
+  void createsMissingPartitionsMovingTheirRowsOutOfTheDefaultPartition() {
+    YearMonth current = YearMonth.now();
+    String next = EventPartitionMaintainer.partitionName(current.plusMonths(1));
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(
+            List.of(
+                EventPartitionMaintainer.partitionName(current),
+                EventPartitionMaintainer.partitionName(current.plusMonths(2)),
+                "events_default"));
+    when(jdbcTemplate.queryForObject(contains("information_schema"), eq(String.class)))
+        .thenReturn("id, starts_at");
+
+    maintainer.maintain();
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).execute("ALTER TABLE events DETACH PARTITION events_default");
+    inOrder
+        .verify(jdbcTemplate)
+        .execute(startsWith("CREATE TABLE " + next + " PARTITION OF events FOR VALUES"));
+    inOrder
+        .verify(jdbcTemplate)
+        .update(
+            and(
+                contains("DELETE FROM events_default"),
+                contains("INSERT INTO events (id, starts_at) SELECT id, starts_at FROM moved")));
+    inOrder
+        .verify(jdbcTemplate)
+        .execute("ALTER TABLE events ATTACH PARTITION events_default DEFAULT");
+    verify(jdbcTemplate, times(1)).execute(startsWith("CREATE TABLE"));
+  }
+
+  @Test
+  void archivesWholePastPartitionsByDetachingThem() {
+    YearMonth current = YearMonth.now();
+    String past = EventPartitionMaintainer.partitionName(current.minusMonths(2));
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(
+            List.of(
+                past,
+                EventPartitionMaintainer.partitionName(current),
+                EventPartitionMaintainer.partitionName(current.plusMonths(1)),
+                EventPartitionMaintainer.partitionName(current.plusMonths(2)),
+                "events_default"));
+
+    maintainer.maintain();
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).execute("ALTER TABLE events DETACH PARTITION " + past);
+    inOrder
+        .verify(jdbcTemplate)
+        .update(
+            and(
+                contains("INSERT INTO event_participants_archive"),
+                contains("SELECT id FROM " + past)));
+    inOrder.verify(jdbcTemplate).update("INSERT INTO events_archive SELECT * FROM " + past);
+    inOrder.verify(jdbcTemplate).execute("DROP TABLE " + past);
+    verify(jdbcTemplate, never()).update(contains("DELETE FROM events "));
+    verify(jdbcTemplate, never())
+        .execute(
+            "ALTER TABLE events DETACH PARTITION "
+                + EventPartitionMaintainer.partitionName(current));
+    verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE"));
+  }
+}
@@ -0,0 +1,77 @@
+package com.fitmatch.events.capacity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.events.entity.Event;
+import com.fitmatch.events.repository.EventsRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SeatGateTest {
+
+  private EventsRepository eventsRepository;
+  private SeatGate seatGate;
+
+  @BeforeEach
+  void setUp() {
+    eventsRepository = mock(EventsRepository.class);
+    seatGate = new SeatGate(eventsRepository, true, Duration.ofMinutes(1), 100);
+  }
+
+  @Test
+  void admitsUntilCapacityThenRejects() {
+    UUID eventId = stubEvent(3, 1, LocalDateTime.now().plusDays(1));
+
+    assertThat(seatGate.tryAcquire(eventId)).isEqualTo(SeatGate.Admission.ADMITTED);
+    assertThat(seatGate.tryAcquire(eventId)).isEqualTo(SeatGate.Admission.ADMITTED);
+    assertThat(seatGate.tryAcquire(eventId)).isEqualTo(SeatGate.Admission.FULL);
+    verify(eventsRepository, times(1)).findById(eventId);
+  }
+
+  @Test
+  void updateFreesSeatsAfterLeave() {
+    UUID eventId = stubEvent(1, 1, LocalDateTime.now().plusDays(1));
+    assertThat(seatGate.tryAcquire(eventId)).isEqualTo(SeatGate.Admission.FULL);
+
+    seatGate.update(eventId, 0);
+
+    assertThat(seatGate.tryAcquire(eventId)).isEqualTo(SeatGate.Admission.ADMITTED);
+  }
+
+  @Test
+  void rejectsStartedEventsAndAdmitsUnknownOnes() {
+    UUID started = stubEvent(10, 0, LocalDateTime.now().minusMinutes(1));
+    UUID unknown = UUID.randomUUID();
+    when(eventsRepository.findById(unknown)).thenReturn(Optional.empty());
+
+    assertThat(seatGate.tryAcquire(started)).isEqualTo(SeatGate.Admission.STARTED);
+    assertThat(seatGate.tryAcquire(unknown)).isEqualTo(SeatGate.Admission.ADMITTED);
+  }
+
+  @Test
+  void disabledGateAdmitsEverything() {
+    SeatGate disabled = new SeatGate(eventsRepository, false, Duration.ofMinutes(1), 100);
+
+    assertThat(disabled.tryAcquire(UUID.randomUUID())).isEqualTo(SeatGate.Admission.ADMITTED);
+    verifyNoInteractions(eventsRepository);
+  }
+
+  private UUID stubEvent(int capacity, int participantCount, LocalDateTime startsAt) {
+    UUID id = UUID.randomUUID();
+    when(eventsRepository.findById(id))
+        .thenReturn(
+            Optional.of(
+                Event.builder()
+                    .id(id)
+                    .capacity(capacity)
+                    .participantCount(participantCount)
+                    .startsAt(startsAt)
+                    .build()));
+    return id;
+  }
+}
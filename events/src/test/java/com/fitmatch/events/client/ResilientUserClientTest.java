@@ -0,0 +1,180 @@
+package com.fitmatch.events.client;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.events.client.dto.UserDto;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+class ResilientUserClientTest {
+
+  private UserClient userClient;
+  private ResilientUserClient client;
+  private String userId;
+  private UserDto user;
+
+  @BeforeEach
+  void setUp() {
+    userClient = mock(UserClient.class);
+    client = client(10);
+    userId = UUID.randomUUID().toString();
+    user = UserDto.builder().id(UUID.fromString(userId)).email("a@b.c").build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    client.shutdown();
+  }
+
+  @Test
+  void fallsBackToLastKnownProfileWhenTheCallFails() {
+    when(userClient.getById(eq(userId), any())).thenReturn(user).thenThrow(serverError());
+
+    assertThat(client.getById(userId)).isEqualTo(user);
+    assertThat(client.getById(userId)).isEqualTo(user);
+  }
+
+  @Test
+  void reportsUnavailableWithoutALastKnownProfile() {
+    when(userClient.getById(eq(userId), any())).thenThrow(serverError());
+
+    assertThatThrownBy(() -> client.getById(userId))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  void passesClientErrorsThroughWithoutOpeningTheCircuit() {
+    FeignException notFound =
+        FeignException.errorStatus(
+            "getById",
+            feign.Response.builder().status(404).request(request()).headers(Map.of()).build());
+    when(userClient.getById(eq(userId), any())).thenThrow(notFound);
+
+    for (int i = 0; i < 20; i++) {
+      assertThatThrownBy(() -> client.getById(userId)).isInstanceOf(FeignException.NotFound.class);
+    }
+    assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opensTheCircuitAfterRepeatedFailures() {
+    when(userClient.getById(eq(userId), any())).thenReturn(user).thenThrow(serverError());
+    client.getById(userId);
+
+    for (int i = 0; i < 10; i++) client.getById(userId);
+
+    assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    clearInvocations(userClient);
+    assertThat(client.getById(userId)).isEqualTo(user);
+    verifyNoInteractions(userClient);
+  }
+
+  @Test
+  void hedgesSlowCallsOnceLatencyIsKnown() {
+    AtomicInteger calls = new AtomicInteger();
+    when(userClient.getById(eq(userId), any()))
+        .thenAnswer(
+            invocation -> {
+              // Warm up with fast calls, then make the first attempt stall
+              int call = calls.incrementAndGet();
+              if (call == 21) Thread.sleep(2_000);
+              return user;
+            });
+    for (int i = 0; i < 20; i++) client.getById(userId);
+
+    long start = System.nanoTime();
+    assertThat(client.getById(userId)).isEqualTo(user);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    assertThat(calls.get()).isEqualTo(22);
+  }
+
+  @Test
+  void passesHeadersCapturedOnTheCallingThreadToHedgedCalls() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer t");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    AtomicInteger calls = new AtomicInteger();
+    when(userClient.getById(eq(userId), any()))
+        .thenAnswer(
+            invocation -> {
+              if (calls.incrementAndGet() == 21) {
+                // The incoming request is recycled while the first attempt stalls
+                request.removeHeader("Authorization");
+                Thread.sleep(2_000);
+              }
+              return user;
+            });
+    for (int i = 0; i < 20; i++) client.getById(userId);
+
+    assertThat(client.getById(userId)).isEqualTo(user);
+
+    verify(userClient, times(22)).getById(userId, Map.of("Authorization", "Bearer t"));
+  }
+
+  @Test
+  void dropsAHedgeStillWaitingForAPermitOnceTheFirstCallAnswers() {
+    client.shutdown();
+    client = client(1);
+    AtomicInteger calls = new AtomicInteger();
+    when(userClient.getById(eq(userId), any()))
+        .thenAnswer(
+            invocation -> {
+              if (calls.incrementAndGet() == 21) Thread.sleep(300);
+              return user;
+            });
+    for (int i = 0; i < 20; i++) client.getById(userId);
+
+    assertThat(client.getById(userId)).isEqualTo(user);
+
+    verify(userClient, after(500).times(21)).getById(eq(userId), any());
+  }
+
+  private ResilientUserClient client(int maxConcurrent) {
+    return new ResilientUserClient(
+        userClient,
+        maxConcurrent,
+        Duration.ofSeconds(1),
+        50,
+        Duration.ofSeconds(5),
+        10,
+        Duration.ofMinutes(1),
+        true,
+        0.95,
+        Duration.ofMillis(50),
+        20,
+        Duration.ofHours(1),
+        100);
+  }
+
+  private static FeignException serverError() {
+    return FeignException.errorStatus(
+        "getById",
+        feign.Response.builder().status(503).request(request()).headers(Map.of()).build());
+  }
+
+  private static Request request() {
+    return Request.create(
+        Request.HttpMethod.GET, "/api/users/1", Map.of(), null, StandardCharsets.UTF_8, null);
+  }
+}
@@ -0,0 +1,42 @@
+package com.fitmatch.events.client.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class HttpClientPoolConfigTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void bindsPoolStatsOfPoolingConnectionManager() {
+    PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+    pool.setMaxTotal(200);
+    ObjectProvider<HttpClientConnectionManager> provider = mock(ObjectProvider.class);
+    when(provider.getIfAvailable()).thenReturn(pool);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    new HttpClientPoolConfig().feignConnectionPoolMetrics(provider).bindTo(registry);
+
+    assertThat(registry.get("httpcomponents.httpclient.pool.total.max").gauge().value())
+        .isEqualTo(200.0);
+    assertThat(registry.get("httpcomponents.httpclient.pool.total.connections").gauges())
+        .isNotEmpty();
+    pool.close();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void skipsWhenNoPoolingConnectionManager() {
+    ObjectProvider<HttpClientConnectionManager> provider = mock(ObjectProvider.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    new HttpClientPoolConfig().feignConnectionPoolMetrics(provider).bindTo(registry);
+
+    assertThat(registry.getMeters()).isEmpty();
+  }
+}
@@ -0,0 +1,82 @@
+package com.fitmatch.events.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TokenClaims;
+import com.fitmatch.common.TrustedIdentity;
+import com.fitmatch.common.dto.UserDto;
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class HeaderAuthenticationFilterTest {
+
+  private final JwtService jwtService = mock(JwtService.class);
+  private final TrustedIdentity trustedIdentity =
+      new TrustedIdentity(
+          true,
+          "dHJ1c3RlZC1pZGVudGl0eS10ZXN0LXNlY3JldC1rZXktMzItYnl0ZXM=",
+          "jwt-secret",
+          Duration.ofSeconds(30));
+  private final HeaderAuthenticationFilter filter =
+      new HeaderAuthenticationFilter(jwtService, trustedIdentity);
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void buildsTheProfileFromTrustedIdentityWithoutParsingTheToken() throws Exception {
+    UUID id = UUID.randomUUID();
+    UserDto profile =
+        UserDto.builder()
+            .id(id)
+            .email("a@b.c")
+            .fitnessLevel(FitnessLevel.BEGINNER)
+            .activityInterests(Set.of(Activity.RUNNING))
+            .lat(41.0)
+            .lon(29.0)
+            .searchRadiusKm(10)
+            .profileCompleted(true)
+            .build();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer token");
+    trustedIdentity
+        .issue(new TokenClaims(id.toString(), "a@b.c", Instant.now().plusSeconds(60), profile))
+        .writeTo(request::addHeader);
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(auth).isInstanceOf(ProfileAuthenticationToken.class);
+    assertThat(((ProfileAuthenticationToken) auth).getProfile().activityInterests())
+        .containsExactly("RUNNING");
+    assertThat(auth.getDetails()).isEqualTo(id.toString());
+    verifyNoInteractions(jwtService);
+  }
+
+  @Test
+  void fallsBackToAPlainIdentityWithoutProfileClaims() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    trustedIdentity.issue("u-1", "a@b.c").writeTo(request::addHeader);
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(auth).isNotInstanceOf(ProfileAuthenticationToken.class);
+    assertThat(auth.getDetails()).isEqualTo("u-1");
+  }
+}
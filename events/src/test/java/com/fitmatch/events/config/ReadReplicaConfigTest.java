@@ -0,0 +1,131 @@
+package com.fitmatch.events.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fitmatch.common.concurrent.BulkheadDataSource;
+import com.fitmatch.common.concurrent.DataSourceBulkheadPostProcessor;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvidersConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+class ReadReplicaConfigTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          .withInitializer(
+              context ->
+                  context
+                      .getBeanFactory()
+                      .setConversionService(ApplicationConversionService.getSharedInstance()))
+          .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+          .withUserConfiguration(
+              DataSourcePropertiesConfig.class,
+              DataSourcePoolMetadataProvidersConfiguration.class,
+              DataSourceBulkheadPostProcessor.class,
+              ReadReplicaConfig.class)
+          .withPropertyValues(
+              "spring.datasource.url=jdbc:postgresql://primary:5432/fitmatch_event",
+              "spring.datasource.username=user",
+              "spring.datasource.hikari.maximum-pool-size=7",
+              "spring.datasource.hikari.connection-timeout=1500",
+              "fitmatch.events.read-replicas.enabled=true",
+              "fitmatch.events.read-replicas.urls="
+                  + "jdbc:postgresql://replica-a:5432/fitmatch_event,"
+                  + "jdbc:postgresql://replica-b:5432/fitmatch_event");
+
+  @Test
+  void bindsHikariSettingsToThePrimaryAndReplicaPools() {
+    contextRunner
+        .withPropertyValues("fitmatch.events.read-replicas.hikari.maximum-pool-size=4")
+        .run(
+            context -> {
+              HikariDataSource primary =
+                  context.getBean("primaryDataSource", HikariDataSource.class);
+              assertThat(primary.getJdbcUrl()).contains("//primary:");
+              assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+              assertThat(primary.getConnectionTimeout()).isEqualTo(1500);
+              assertThat(primary.isReadOnly()).isFalse();
+
+              List<HikariDataSource> replicas =
+                  replicas(context.getBean(ReplicaRoutingDataSource.class));
+              assertThat(replicas)
+                  .extracting(HikariDataSource::getJdbcUrl)
+                  .containsExactly(
+                      "jdbc:postgresql://replica-a:5432/fitmatch_event",
+                      "jdbc:postgresql://replica-b:5432/fitmatch_event");
+              assertThat(replicas)
+                  .allSatisfy(
+                      replica -> {
+                        assertThat(replica.getUsername()).isEqualTo("user");
+                        assertThat(replica.getMaximumPoolSize()).isEqualTo(4);
+                        assertThat(replica.getConnectionTimeout()).isEqualTo(1500);
+                        assertThat(replica.isReadOnly()).isTrue();
+                      });
+            });
+  }
+
+  @Test
+  void replicasDefaultToThePrimaryPoolSettings() {
+    contextRunner.run(
+        context ->
+            assertThat(replicas(context.getBean(ReplicaRoutingDataSource.class)))
+                .extracting(HikariDataSource::getMaximumPoolSize)
+                .containsExactly(7, 7));
+  }
+
+  @Test
+  void givesEachPoolItsOwnBulkheadWhenEnabled() {
+    contextRunner
+        .withPropertyValues("fitmatch.bulkhead.database.enabled=true")
+        .run(
+            context -> {
+              ReplicaRoutingDataSource routing = context.getBean(ReplicaRoutingDataSource.class);
+              assertThat(routing.primary()).isInstanceOf(BulkheadDataSource.class);
+              assertThat(routing.primary().unwrap(HikariDataSource.class))
+                  .isSameAs(context.getBean("primaryDataSource"));
+              assertThat(routing.replicas())
+                  .hasSize(2)
+                  .allSatisfy(replica -> assertThat(replica).isInstanceOf(BulkheadDataSource.class))
+                  .doesNotContain(routing.primary());
+
+              // The routing proxy is not put behind another, shared bulkhead
+              DataSource dataSource = context.getBean("dataSource", DataSource.class);
+              assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+              assertThat(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource())
+                  .isSameAs(routing.primary());
+            });
+  }
+
+  @Test
+  void leavesPoolsUnwrappedWhenBulkheadDisabled() {
+    contextRunner.run(
+        context ->
+            assertThat(context.getBean(ReplicaRoutingDataSource.class).primary())
+                .isSameAs(context.getBean("primaryDataSource")));
+  }
+
+  private static List<HikariDataSource> replicas(ReplicaRoutingDataSource routing)
+      throws SQLException {
+    List<HikariDataSource> pools = new ArrayList<>();
+    for (DataSource replica : routing.replicas()) {
+      pools.add(replica.unwrap(HikariDataSource.class));
+    }
+    return pools;
+  }
+
+  @Configuration
+  @EnableConfigurationProperties(DataSourceProperties.class)
+  static class DataSourcePropertiesConfig {}
+}
@@ -0,0 +1,77 @@
+package com.fitmatch.events.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.common.concurrent.BulkheadFullException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+
+  private DataSource primary;
+  private DataSource replicaA;
+  private DataSource replicaB;
+  private Connection primaryConnection;
+  private Connection connectionA;
+  private Connection connectionB;
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    primary = mock(DataSource.class);
+    replicaA = mock(DataSource.class);
+    replicaB = mock(DataSource.class);
+    primaryConnection = mock(Connection.class);
+    connectionA = mock(Connection.class);
+    connectionB = mock(Connection.class);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replicaA.getConnection()).thenReturn(connectionA);
+    when(replicaB.getConnection()).thenReturn(connectionB);
+    routing =
+        new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB), Duration.ofSeconds(5));
+  }
+
+  @Test
+  void alternatesBetweenHealthyReplicas() throws SQLException {
+    assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+        .containsExactly(connectionA, connectionB, connectionA);
+    verifyNoInteractions(primary);
+  }
+
+  @Test
+  void skipsLaggingReplicasAndFallsBackToPrimary() throws SQLException {
+    routing.setHealthy(0, false);
+    assertThat(routing.getConnection()).isSameAs(connectionB);
+    assertThat(routing.getConnection()).isSameAs(connectionB);
+
+    routing.setHealthy(1, false);
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void takesFailingReplicaOutOfRotation() throws SQLException {
+    when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    assertThat(routing.getConnection()).isSameAs(connectionB);
+    assertThat(routing.getConnection()).isSameAs(connectionB);
+    verify(replicaA, times(1)).getConnection();
+  }
+
+  @Test
+  void keepsBusyReplicaInRotation() throws SQLException {
+    when(replicaA.getConnection()).thenThrow(new BulkheadFullException("database"));
+
+    routing.checkReplicas();
+
+    reset(replicaA);
+    when(replicaA.getConnection()).thenReturn(connectionA);
+    assertThat(routing.getConnection()).isSameAs(connectionA);
+  }
+}
@@ -16,6 +16,11 @@ import com.fitmatch.events.dto.CreateEventRequest;
 import com.fitmatch.events.dto.EventDto;
 import com.fitmatch.events.dto.GetNearbyEventsResponse;
 import com.fitmatch.events.dto.JoinEventResponse;
+import com.fitmatch.events.dto.LeaveEventResponse;
+import com.fitmatch.events.dto.NearbyEventsPage;
+import com.fitmatch.events.dto.ParticipationAction;
+import com.fitmatch.events.dto.ParticipationRequest;
+import com.fitmatch.events.dto.ParticipationResult;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -93,14 +98,29 @@ class EventsControllerTest {
             .compatibilityScore(87.5)
             .event(null) // not needed for this check
             .build();
-    when(eventsService.getNearbyEvents()).thenReturn(List.of(r1));
+    when(eventsService.getNearbyEvents(null, null, null, false))
+        .thenReturn(NearbyEventsPage.builder().events(List.of(r1)).build());
 
     mockMvc
         .perform(get("/api/events/nearby"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$[0].compatibilityScore").value(87.5));
+        .andExpect(jsonPath("$[0].compatibilityScore").value(87.5))
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
 
-    verify(eventsService).getNearbyEvents();
+    verify(eventsService).getNearbyEvents(null, null, null, false);
+  }
+
+  @Test
+  void nearby_withCursor_returnsNextCursorHeader() throws Exception {
+    GetNearbyEventsResponse r1 = GetNearbyEventsResponse.builder().compatibilityScore(50).build();
+    when(eventsService.getNearbyEvents(1, "abc", null, false))
+        .thenReturn(NearbyEventsPage.builder().events(List.of(r1)).nextCursor("def").build());
+
+    mockMvc
+        .perform(get("/api/events/nearby").param("limit", "1").param("cursor", "abc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].compatibilityScore").value(50.0))
+        .andExpect(header().string("X-Next-Cursor", "def"));
   }
 
   @Test
@@ -127,10 +147,50 @@ class EventsControllerTest {
   }
 
   @Test
-  void leave_noContent() throws Exception {
+  void updateParticipation_returnsPerItemResults() throws Exception {
+    UUID eventId = UUID.randomUUID();
+    List<ParticipationRequest> req =
+        List.of(new ParticipationRequest(eventId, null, ParticipationAction.JOIN));
+    when(eventsService.updateParticipation(anyList()))
+        .thenReturn(
+            List.of(
+                ParticipationResult.builder()
+                    .eventId(eventId)
+                    .action(ParticipationAction.JOIN)
+                    .status(400)
+                    .message("Event is at full capacity")
+                    .build()));
+
+    mockMvc
+        .perform(
+            post("/api/events/participations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].eventId").value(eventId.toString()))
+        .andExpect(jsonPath("$[0].status").value(400));
+
+    verify(eventsService).updateParticipation(req);
+  }
+
+  @Test
+  void evictProfileCache_noContent() throws Exception {
+    mockMvc.perform(delete("/api/events/profile-cache")).andExpect(status().isNoContent());
+
+    verify(eventsService).evictCurrentUserProfile();
+  }
+
+  @Test
+  void leave_returnsParticipantCount() throws Exception {
     UUID id = UUID.randomUUID();
+    when(eventsService.leaveEvent(id))
+        .thenReturn(LeaveEventResponse.builder().eventId(id).participantCount(3).build());
 
-    mockMvc.perform(delete("/api/events/{eventId}/leave", id)).andExpect(status().isNoContent());
+    mockMvc
+        .perform(delete("/api/events/{eventId}/leave", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.eventId").value(id.toString()))
+        .andExpect(jsonPath("$.participantCount").value(3));
 
     verify(eventsService).leaveEvent(id);
   }
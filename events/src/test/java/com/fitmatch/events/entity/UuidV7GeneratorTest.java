@@ -0,0 +1,30 @@
+package com.fitmatch.events.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+  @Test
+  void generatesVersion7Ids() {
+    UUID id = UuidV7Generator.next();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+  }
+
+  @Test
+  void embedsCurrentTimestampSoIdsSortByCreationTime() throws InterruptedException {
+    long before = System.currentTimeMillis();
+    UUID first = UuidV7Generator.next();
+    Thread.sleep(2);
+    UUID second = UuidV7Generator.next();
+
+    assertThat(first.getMostSignificantBits() >>> 16).isBetween(before, before + 1_000);
+    assertThat(
+            Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()))
+        .isNegative();
+  }
+}
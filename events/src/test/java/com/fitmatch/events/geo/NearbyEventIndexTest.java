@@ -0,0 +1,128 @@
+package com.fitmatch.events.geo;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import com.fitmatch.events.dto.NearbyEventView;
+import com.fitmatch.events.entity.Event;
+import com.fitmatch.events.repository.EventsRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class NearbyEventIndexTest {
+
+  private static final GeometryFactory GF = new GeometryFactory(new PrecisionModel(), 4326);
+
+  private EventsRepository eventsRepository;
+  private NearbyEventIndex index;
+
+  @BeforeEach
+  void setUp() {
+    eventsRepository = mock(EventsRepository.class);
+    index = new NearbyEventIndex(eventsRepository);
+    ReflectionTestUtils.setField(index, "enabled", true);
+    ReflectionTestUtils.setField(index, "cellsPerDegree", 10);
+  }
+
+  @Test
+  void notReadyUntilLoaded() {
+    assertThat(index.isReady()).isFalse();
+
+    when(eventsRepository.findByStartsAtAfter(any())).thenReturn(List.of());
+    index.refresh();
+
+    assertThat(index.isReady()).isTrue();
+  }
+
+  @Test
+  void findWithin_returnsOnlyEventsInsideRadius() {
+    Event near = event(41.001, 29.001, LocalDateTime.now().plusDays(1));
+    Event far = event(41.5, 29.5, LocalDateTime.now().plusDays(1));
+    when(eventsRepository.findByStartsAtAfter(any())).thenReturn(List.of(near, far));
+    index.refresh();
+
+    List<NearbyEventView> out = index.findWithin(41.0, 29.0, 10_000.0, null, false);
+
+    assertThat(out).extracting(NearbyEventView::getId).containsExactly(near.getId());
+    assertThat(out.get(0).getDistance()).isBetween(100.0, 200.0);
+    assertThat(out.get(0).getActivity()).isEqualTo(Activity.RUNNING.name());
+  }
+
+  @Test
+  void findWithin_spansCellBoundariesAndAntimeridian() {
+    Event east = event(0.0, 179.99, LocalDateTime.now().plusDays(1));
+    Event west = event(0.0, -179.99, LocalDateTime.now().plusDays(1));
+    when(eventsRepository.findByStartsAtAfter(any())).thenReturn(List.of(east, west));
+    index.refresh();
+
+    List<NearbyEventView> out = index.findWithin(0.0, 180.0, 5_000.0, null, false);
+
+    assertThat(out)
+        .extracting(NearbyEventView::getId)
+        .containsExactlyInAnyOrder(east.getId(), west.getId());
+  }
+
+  @Test
+  void incrementalUpdatesAreVisible() {
+    when(eventsRepository.findByStartsAtAfter(any())).thenReturn(List.of());
+    index.refresh();
+
+    Event created = event(41.0, 29.0, LocalDateTime.now().plusDays(1));
+    index.put(created);
+    index.updateParticipantCount(created.getId(), 4);
+
+    List<NearbyEventView> out = index.findWithin(41.0, 29.0, 1_000.0, null, false);
+    assertThat(out).singleElement().extracting(NearbyEventView::getParticipantCount).isEqualTo(4);
+
+    index.remove(created.getId());
+    assertThat(index.findWithin(41.0, 29.0, 1_000.0, null, false)).isEmpty();
+  }
+
+  @Test
+  void findWithin_skipsEventsThatHaveStarted() {
+    when(eventsRepository.findByStartsAtAfter(any())).thenReturn(List.of());
+    index.refresh();
+    index.put(event(41.0, 29.0, LocalDateTime.now().minusMinutes(1)));
+
+    assertThat(index.findWithin(41.0, 29.0, 1_000.0, null, false)).isEmpty();
+  }
+
+  @Test
+  void findWithin_appliesTimeWindowAndHideFull() {
+    Event soon = event(41.0, 29.0, LocalDateTime.now().plusDays(1));
+    Event later = event(41.0, 29.0, LocalDateTime.now().plusDays(10));
+    Event full = event(41.0, 29.0, LocalDateTime.now().plusDays(1));
+    full.setParticipantCount(full.getCapacity());
+    when(eventsRepository.findByStartsAtAfter(any())).thenReturn(List.of(soon, later, full));
+    index.refresh();
+
+    assertThat(index.findWithin(41.0, 29.0, 1_000.0, LocalDateTime.now().plusDays(7), true))
+        .extracting(NearbyEventView::getId)
+        .containsExactly(soon.getId());
+    assertThat(index.findWithin(41.0, 29.0, 1_000.0, null, false)).hasSize(3);
+  }
+
+  private static Event event(double lat, double lng, LocalDateTime startsAt) {
+    return Event.builder()
+        .id(UUID.randomUUID())
+        .organizerId(UUID.randomUUID())
+        .title("E")
+        .activity(Activity.RUNNING)
+        .fitnessLevel(FitnessLevel.BEGINNER)
+        .startsAt(startsAt)
+        .capacity(10)
+        .participantCount(1)
+        .location(GF.createPoint(new Coordinate(lng, lat)))
+        .build();
+  }
+}
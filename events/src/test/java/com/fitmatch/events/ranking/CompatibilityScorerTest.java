@@ -0,0 +1,48 @@
+package com.fitmatch.events.ranking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompatibilityScorerTest {
+
+  private final CompatibilityScorer scorer =
+      CompatibilityScorer.of(
+          FitnessLevel.INTERMEDIATE, List.of(Activity.RUNNING, Activity.YOGA), 10_000.0);
+
+  @Test
+  void activityAffinity_exactCategoryOrNone() {
+    assertThat(scorer.activityAffinity(Activity.RUNNING)).isEqualTo(1.0);
+    assertThat(scorer.activityAffinity(Activity.CYCLING)).isEqualTo(0.5);
+    assertThat(scorer.activityAffinity(Activity.PILATES)).isEqualTo(0.5);
+    assertThat(scorer.activityAffinity(Activity.FOOTBALL)).isEqualTo(0.0);
+  }
+
+  @Test
+  void score_followsWeightedFormula() {
+    // geo 0.5, activity 1.0, fitness 0.5 (one level apart)
+    assertThat(scorer.score(5_000.0, Activity.RUNNING, FitnessLevel.ADVANCED))
+        .isCloseTo(100.0 * (0.40 * 0.5 + 0.40 * 1.0 + 0.20 * 0.5), within(1e-9));
+    // beyond the radius geo closeness bottoms out at 0
+    assertThat(scorer.score(50_000.0, Activity.HIKING, FitnessLevel.INTERMEDIATE))
+        .isCloseTo(20.0, within(1e-9));
+  }
+
+  @Test
+  void noInterests_givesNoActivityAffinity() {
+    CompatibilityScorer empty = CompatibilityScorer.of(FitnessLevel.BEGINNER, List.of(), 1_000.0);
+
+    assertThat(empty.activityAffinity(Activity.RUNNING)).isEqualTo(0.0);
+    assertThat(empty.score(0.0, Activity.RUNNING, FitnessLevel.ADVANCED)).isEqualTo(40.0);
+  }
+
+  @Test
+  void unknownNamesAreRejected() {
+    assertThatThrownBy(() -> CompatibilityScorer.activity("SKYDIVING"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(CompatibilityScorer.fitnessLevel("BEGINNER")).isEqualTo(FitnessLevel.BEGINNER);
+  }
+}
@@ -0,0 +1,126 @@
+package com.fitmatch.events.ranking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fitmatch.events.dto.GetNearbyEventsResponse;
+import com.fitmatch.events.dto.NearbyCursor;
+import com.fitmatch.events.dto.NearbyEventView;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NearbyEventRankerTest {
+
+  @Test
+  void topK_matchesFullSort() {
+    Random random = new Random(42);
+    List<View> views = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      views.add(
+          new View(
+              UUID.randomUUID(),
+              random.nextInt(5) * 10.0,
+              random.nextInt(3),
+              random.nextInt(4) * 250.0));
+    }
+
+    List<UUID> expected =
+        views.stream()
+            .sorted(
+                Comparator.comparingDouble((View v) -> -v.score)
+                    .thenComparing(v -> -v.participantCount)
+                    .thenComparingDouble(v -> v.distance)
+                    .thenComparing(v -> v.id.toString()))
+            .limit(25)
+            .map(v -> v.id)
+            .toList();
+
+    List<GetNearbyEventsResponse> top =
+        NearbyEventRanker.topK(views, v -> ((View) v).score, null, 25);
+
+    assertThat(top).extracting(r -> r.event().getId()).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void topK_resumesAfterCursor() {
+    View a = new View(UUID.randomUUID(), 90.0, 1, 100.0);
+    View b = new View(UUID.randomUUID(), 80.0, 1, 100.0);
+    View c = new View(UUID.randomUUID(), 80.0, 0, 100.0);
+    List<View> views = List.of(c, a, b);
+
+    List<GetNearbyEventsResponse> first =
+        NearbyEventRanker.topK(views, v -> ((View) v).score, null, 2);
+    List<GetNearbyEventsResponse> rest =
+        NearbyEventRanker.topK(
+            views, v -> ((View) v).score, NearbyCursor.of(first.get(first.size() - 1)), 2);
+
+    assertThat(first).extracting(r -> r.event().getId()).containsExactly(a.id, b.id);
+    assertThat(rest).extracting(r -> r.event().getId()).containsExactly(c.id);
+  }
+
+  @Test
+  void topK_zeroLimitReturnsNothing() {
+    assertThat(
+            NearbyEventRanker.topK(
+                List.of(new View(UUID.randomUUID(), 1.0, 0, 1.0)), v -> 1.0, null, 0))
+        .isEmpty();
+  }
+
+  private record View(UUID id, double score, int participantCount, double distance)
+      implements NearbyEventView {
+
+    @Override
+    public UUID getId() {
+      return id;
+    }
+
+    @Override
+    public String getTitle() {
+      return "E";
+    }
+
+    @Override
+    public String getActivity() {
+      return "RUNNING";
+    }
+
+    @Override
+    public String getFitnessLevel() {
+      return "BEGINNER";
+    }
+
+    @Override
+    public LocalDateTime getStartsAt() {
+      return null;
+    }
+
+    @Override
+    public Integer getCapacity() {
+      return 10;
+    }
+
+    @Override
+    public Integer getParticipantCount() {
+      return participantCount;
+    }
+
+    @Override
+    public Double getDistance() {
+      return distance;
+    }
+
+    @Override
+    public Double getLat() {
+      return 0.0;
+    }
+
+    @Override
+    public Double getLng() {
+      return 0.0;
+    }
+  }
+}
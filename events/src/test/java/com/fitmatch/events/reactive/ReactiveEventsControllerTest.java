@@ -0,0 +1,91 @@
+package com.fitmatch.events.reactive;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fitmatch.events.dto.GetNearbyEventsResponse;
+import com.fitmatch.events.dto.NearbyEventsPage;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+class ReactiveEventsControllerTest {
+
+  private MockMvc mockMvc;
+
+  @Mock private ReactiveNearbyEvents reactiveNearbyEvents;
+
+  @InjectMocks private ReactiveEventsController controller;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  @Test
+  void streamsRankedEventsAsNdjson() throws Exception {
+    NearbyEventsPage page =
+        NearbyEventsPage.builder()
+            .events(
+                List.of(
+                    GetNearbyEventsResponse.builder().compatibilityScore(90).build(),
+                    GetNearbyEventsResponse.builder().compatibilityScore(80).build()))
+            .nextCursor("def")
+            .build();
+    when(reactiveNearbyEvents.getNearbyEvents(
+            any(), eq(Map.of("Authorization", "Bearer t")), eq(2), isNull(), eq(7), eq(true)))
+        .thenReturn(Mono.just(page));
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/events/nearby/stream")
+                    .header("Authorization", "Bearer t")
+                    .param("limit", "2")
+                    .param("withinDays", "7")
+                    .param("hideFull", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    MvcResult streamed =
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+    // The events are written by a second async phase; wait for it before reading the response.
+    streamed.getAsyncResult();
+
+    header().string("X-Next-Cursor", "def").match(streamed);
+    content()
+        .string(
+            "{\"compatibilityScore\":90.0,\"event\":null}\n"
+                + "{\"compatibilityScore\":80.0,\"event\":null}\n")
+        .match(streamed);
+  }
+
+  @Test
+  void reportsErrorsWithTheirStatus() throws Exception {
+    when(reactiveNearbyEvents.getNearbyEvents(any(), any(), any(), any(), any(), anyBoolean()))
+        .thenReturn(
+            Mono.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "User profile not completed")));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/events/nearby/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+  }
+}
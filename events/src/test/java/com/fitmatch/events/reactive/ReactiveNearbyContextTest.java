@@ -0,0 +1,62 @@
+package com.fitmatch.events.reactive;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fitmatch.events.repository.EventsRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Loads the full application context with the reactive nearby search switched off and on. No
+ * database is needed: Flyway and the scheduled jobs are disabled and Hibernate is told not to read
+ * JDBC metadata, so nothing connects while the context starts.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.flyway.enabled=false",
+      "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+      "eureka.client.enabled=false",
+      "fitmatch.events.nearby-index.enabled=false",
+      "fitmatch.events.archive.enabled=false",
+      "fitmatch.events.partitions.enabled=false"
+    })
+class ReactiveNearbyContextTest {
+
+  @Nested
+  @TestPropertySource(properties = "fitmatch.events.nearby.reactive.enabled=false")
+  class Disabled {
+
+    @Autowired private ApplicationContext context;
+
+    @Test
+    void keepsJpaAndSkipsReactiveBeans() {
+      assertThat(context.getBeanNamesForType(DataSource.class)).isNotEmpty();
+      assertThat(context.getBeanNamesForType(EventsRepository.class)).isNotEmpty();
+      assertThat(context.getBeanNamesForType(ConnectionFactory.class)).isEmpty();
+      assertThat(context.getBeanNamesForType(ReactiveNearbyEvents.class)).isEmpty();
+    }
+  }
+
+  @Nested
+  @TestPropertySource(properties = "fitmatch.events.nearby.reactive.enabled=true")
+  class Enabled {
+
+    @Autowired private ApplicationContext context;
+
+    @Test
+    void keepsJpaAlongsideReactiveBeans() {
+      assertThat(context.getBeanNamesForType(DataSource.class)).isNotEmpty();
+      assertThat(context.getBeanNamesForType(EventsRepository.class)).isNotEmpty();
+      assertThat(context.getBeanNamesForType(ConnectionFactory.class)).isEmpty();
+      assertThat(context.getBean(DatabaseClient.class)).isNotNull();
+      assertThat(context.getBean(ReactiveNearbyEvents.class)).isNotNull();
+    }
+  }
+}
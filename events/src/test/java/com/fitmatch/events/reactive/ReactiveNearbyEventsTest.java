@@ -0,0 +1,287 @@
+package com.fitmatch.events.reactive;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.common.enums.Activity;
+import com.fitmatch.common.enums.FitnessLevel;
+import com.fitmatch.events.client.UserProfileCache;
+import com.fitmatch.events.client.dto.UserDto;
+import com.fitmatch.events.config.ProfileAuthenticationToken;
+import com.fitmatch.events.dto.NearbyEventDto;
+import com.fitmatch.events.dto.NearbyEventsPage;
+import com.fitmatch.events.repository.EventsRepository;
+import io.r2dbc.spi.Readable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveNearbyEventsTest {
+
+  private final DatabaseClient databaseClient = mock(DatabaseClient.class);
+  private final GenericExecuteSpec spec = mock(GenericExecuteSpec.class, RETURNS_SELF);
+  private final UserProfileCache userProfileCache = mock(UserProfileCache.class);
+
+  private final List<Readable> rows = new ArrayList<>();
+  private final List<ClientRequest> userRequests = new ArrayList<>();
+  private Function<ClientRequest, Mono<ClientResponse>> userService =
+      request -> Mono.error(new AssertionError("unexpected user service call"));
+
+  private ReactiveNearbyEvents reactiveNearbyEvents;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    when(databaseClient.sql(EventsRepository.NEARBY_EVENTS_SQL)).thenReturn(spec);
+    when(databaseClient.sql(EventsRepository.OPEN_NEARBY_EVENTS_SQL)).thenReturn(spec);
+    when(spec.map(any(Function.class)))
+        .thenAnswer(
+            invocation -> {
+              Function<Readable, Object> mapper = invocation.getArgument(0);
+              RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+              when(fetch.all()).thenReturn(Flux.fromIterable(rows).map(mapper));
+              return fetch;
+            });
+
+    WebClient.Builder webClient =
+        WebClient.builder()
+            .exchangeFunction(
+                request -> {
+                  userRequests.add(request);
+                  return userService.apply(request);
+                });
+    reactiveNearbyEvents =
+        new ReactiveNearbyEvents(
+            databaseClient,
+            webClient,
+            userProfileCache,
+            20,
+            100,
+            "http://user",
+            Duration.ofSeconds(1));
+  }
+
+  @Test
+  void bindsQueryParametersAndMapsRowAliases() {
+    UserDto user = user(UUID.randomUUID());
+    UUID eventId = UUID.randomUUID();
+    LocalDateTime startsAt = LocalDateTime.now().plusDays(2);
+    rows.add(row(eventId, "Run A", startsAt, 3, 500.0));
+
+    NearbyEventsPage page =
+        reactiveNearbyEvents
+            .getNearbyEvents(new ProfileAuthenticationToken(user), Map.of(), null, null, 7, true)
+            .block();
+
+    verify(spec).bind("lat", 41.0);
+    verify(spec).bind("lng", 29.0);
+    verify(spec).bind("radiusMeters", 20_000.0);
+    verify(spec).bind("hasUntil", true);
+    verify(databaseClient).sql(EventsRepository.OPEN_NEARBY_EVENTS_SQL);
+    ArgumentCaptor<Object> now = ArgumentCaptor.forClass(Object.class);
+    ArgumentCaptor<Object> until = ArgumentCaptor.forClass(Object.class);
+    verify(spec).bind(eq("now"), now.capture());
+    verify(spec).bind(eq("until"), until.capture());
+    assertThat(until.getValue()).isEqualTo(((LocalDateTime) now.getValue()).plusDays(7));
+
+    assertThat(page.events()).hasSize(1);
+    assertThat(page.nextCursor()).isNull();
+    NearbyEventDto event = page.events().get(0).event();
+    assertThat(event.getId()).isEqualTo(eventId);
+    assertThat(event.getTitle()).isEqualTo("Run A");
+    assertThat(event.getActivity()).isEqualTo(Activity.RUNNING.name());
+    assertThat(event.getFitnessLevel()).isEqualTo(FitnessLevel.BEGINNER.name());
+    assertThat(event.getStartsAt()).isEqualTo(startsAt);
+    assertThat(event.getCapacity()).isEqualTo(10);
+    assertThat(event.getParticipantCount()).isEqualTo(3);
+    assertThat(event.getDistance()).isEqualTo(500.0);
+    assertThat(event.getLat()).isEqualTo(41.001);
+    assertThat(event.getLng()).isEqualTo(29.001);
+    assertThat(userRequests).isEmpty();
+  }
+
+  @Test
+  void pagesWithCursor() {
+    Authentication auth = new ProfileAuthenticationToken(user(UUID.randomUUID()));
+    for (int i = 0; i < 5; i++) {
+      rows.add(
+          row(UUID.randomUUID(), "E" + i, LocalDateTime.now().plusDays(1), 1, 100.0 * (i + 1)));
+    }
+
+    NearbyEventsPage first =
+        reactiveNearbyEvents.getNearbyEvents(auth, Map.of(), 2, null, null, false).block();
+    NearbyEventsPage second =
+        reactiveNearbyEvents
+            .getNearbyEvents(auth, Map.of(), 2, first.nextCursor(), null, false)
+            .block();
+    NearbyEventsPage last =
+        reactiveNearbyEvents
+            .getNearbyEvents(auth, Map.of(), 2, second.nextCursor(), null, false)
+            .block();
+
+    assertThat(first.events()).extracting(r -> r.event().getTitle()).containsExactly("E0", "E1");
+    assertThat(second.events()).extracting(r -> r.event().getTitle()).containsExactly("E2", "E3");
+    assertThat(last.events()).extracting(r -> r.event().getTitle()).containsExactly("E4");
+    assertThat(last.nextCursor()).isNull();
+    verify(spec, times(3)).bind("hasUntil", false);
+    verify(databaseClient, times(3)).sql(EventsRepository.NEARBY_EVENTS_SQL);
+    verify(spec, never()).bind(eq("hideFull"), any());
+  }
+
+  @Test
+  void rejectsBadArgumentsAndIncompleteProfiles() {
+    Authentication auth = new ProfileAuthenticationToken(user(UUID.randomUUID()));
+    UserDto incomplete = UserDto.builder().id(UUID.randomUUID()).profileCompleted(false).build();
+
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(auth, Map.of(), 0, null, null, false),
+        HttpStatus.BAD_REQUEST);
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(auth, Map.of(), null, null, 0, false),
+        HttpStatus.BAD_REQUEST);
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(auth, Map.of(), null, "not-a-cursor", null, false),
+        HttpStatus.BAD_REQUEST);
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(
+            new ProfileAuthenticationToken(incomplete), Map.of(), null, null, null, false),
+        HttpStatus.BAD_REQUEST);
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(null, Map.of(), null, null, null, false),
+        HttpStatus.UNAUTHORIZED);
+    verifyNoInteractions(databaseClient);
+  }
+
+  @Test
+  void fetchesUncachedProfileWithForwardedHeaders() {
+    UUID userId = UUID.randomUUID();
+    userService =
+        request ->
+            Mono.just(
+                ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(userJson(userId))
+                    .build());
+
+    NearbyEventsPage page =
+        reactiveNearbyEvents
+            .getNearbyEvents(
+                authFor(userId), Map.of("Authorization", "Bearer t"), null, null, null, false)
+            .block();
+
+    assertThat(page.events()).isEmpty();
+    assertThat(userRequests).hasSize(1);
+    assertThat(userRequests.get(0).url()).hasToString("http://user/api/users/" + userId);
+    assertThat(userRequests.get(0).headers().getFirst("Authorization")).isEqualTo("Bearer t");
+    verify(userProfileCache).put(user(userId));
+    verify(spec).bind("lat", 41.0);
+  }
+
+  @Test
+  void usesCachedProfileWithoutCallingUserService() {
+    UUID userId = UUID.randomUUID();
+    when(userProfileCache.getIfPresent(userId)).thenReturn(user(userId));
+
+    reactiveNearbyEvents
+        .getNearbyEvents(authFor(userId), Map.of(), null, null, null, false)
+        .block();
+
+    assertThat(userRequests).isEmpty();
+    verify(spec).bind("radiusMeters", 20_000.0);
+  }
+
+  @Test
+  void reportsSlowOrFailingUserServiceAsUnavailable() {
+    UUID userId = UUID.randomUUID();
+
+    userService = request -> Mono.never();
+    long started = System.nanoTime();
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(authFor(userId), Map.of(), null, null, null, false),
+        HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+
+    userService = request -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build());
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(authFor(userId), Map.of(), null, null, null, false),
+        HttpStatus.SERVICE_UNAVAILABLE);
+
+    userService = request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+    assertStatus(
+        reactiveNearbyEvents.getNearbyEvents(authFor(userId), Map.of(), null, null, null, false),
+        HttpStatus.NOT_FOUND);
+
+    verify(userProfileCache, never()).put(any());
+    verifyNoInteractions(databaseClient);
+  }
+
+  private static void assertStatus(Mono<NearbyEventsPage> result, HttpStatus status) {
+    assertThatThrownBy(result::block)
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(status);
+  }
+
+  private static Authentication authFor(UUID userId) {
+    Authentication auth = mock(Authentication.class);
+    when(auth.getDetails()).thenReturn(userId.toString());
+    return auth;
+  }
+
+  private static UserDto user(UUID id) {
+    return UserDto.builder()
+        .id(id)
+        .email("a@b.c")
+        .fitnessLevel(FitnessLevel.BEGINNER.name())
+        .activityInterests(List.of(Activity.RUNNING.name()))
+        .lat(41.0)
+        .lon(29.0)
+        .searchRadiusKm(20)
+        .profileCompleted(true)
+        .build();
+  }
+
+  private static String userJson(UUID id) {
+    return """
+        {"id":"%s","email":"a@b.c","fitnessLevel":"BEGINNER","activityInterests":["RUNNING"],\
+        "lat":41.0,"lon":29.0,"searchRadiusKm":20,"profileCompleted":true}"""
+        .formatted(id);
+  }
+
+  private static Readable row(
+      UUID id, String title, LocalDateTime startsAt, int participantCount, double distance) {
+    Readable row = mock(Readable.class);
+    when(row.get("id", UUID.class)).thenReturn(id);
+    when(row.get("title", String.class)).thenReturn(title);
+    when(row.get("activity", String.class)).thenReturn(Activity.RUNNING.name());
+    when(row.get("fitnessLevel", String.class)).thenReturn(FitnessLevel.BEGINNER.name());
+    when(row.get("startsAt", LocalDateTime.class)).thenReturn(startsAt);
+    when(row.get("capacity", Integer.class)).thenReturn(10);
+    when(row.get("participantCount", Integer.class)).thenReturn(participantCount);
+    when(row.get("distance", Double.class)).thenReturn(distance);
+    when(row.get("lat", Double.class)).thenReturn(41.001);
+    when(row.get("lng", Double.class)).thenReturn(29.001);
+    return row;
+  }
+}
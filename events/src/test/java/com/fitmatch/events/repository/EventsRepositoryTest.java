@@ -0,0 +1,57 @@
+package com.fitmatch.events.repository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class EventsRepositoryTest {
+
+  private final EventsRepository repository = mock(EventsRepository.class, CALLS_REAL_METHODS);
+
+  @Test
+  void hideFullUsesTheQueryWithTheLiteralOpenEventsPredicate() {
+    assertThat(EventsRepository.NEARBY_EVENTS_SQL)
+        .doesNotContain(":hideFull")
+        .doesNotContain(EventsRepository.OPEN_EVENTS_FILTER);
+    assertThat(EventsRepository.OPEN_NEARBY_EVENTS_SQL)
+        .doesNotContain(":hideFull")
+        .contains("AND e.participant_count < e.capacity\nORDER BY distance ASC");
+  }
+
+  @Test
+  void dispatchesNearbySearchesOnHideFull() {
+    LocalDateTime now = LocalDateTime.now();
+
+    repository.findNearbyEvents(41.0, 29.0, 1000.0, now, false, now, true);
+    verify(repository).findOpenNearbyEvents(41.0, 29.0, 1000.0, now, false, now);
+    verify(repository, never())
+        .findAllNearbyEvents(anyDouble(), anyDouble(), anyDouble(), any(), anyBoolean(), any());
+
+    repository.findNearbyEvents(41.0, 29.0, 1000.0, now, false, now, false);
+    verify(repository).findAllNearbyEvents(41.0, 29.0, 1000.0, now, false, now);
+  }
+
+  @Test
+  void dispatchesRankedSearchesOnHideFull() {
+    LocalDateTime now = LocalDateTime.now();
+
+    repository.findTopNearbyEvents(
+        41.0, 29.0, 1000.0, now, false, now, true, "RUNNING", "", 0, 0.4, 0.4, 0.2, false, 0, 0, 0,
+        "", 20);
+    verify(repository)
+        .findOpenTopNearbyEvents(
+            41.0, 29.0, 1000.0, now, false, now, "RUNNING", "", 0, 0.4, 0.4, 0.2, false, 0, 0, 0,
+            "", 20);
+
+    repository.findTopNearbyEvents(
+        41.0, 29.0, 1000.0, now, false, now, false, "RUNNING", "", 0, 0.4, 0.4, 0.2, false, 0, 0, 0,
+        "", 20);
+    verify(repository)
+        .findAllTopNearbyEvents(
+            41.0, 29.0, 1000.0, now, false, now, "RUNNING", "", 0, 0.4, 0.4, 0.2, false, 0, 0, 0,
+            "", 20);
+  }
+}
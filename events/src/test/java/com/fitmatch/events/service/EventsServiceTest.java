@@ -7,27 +7,37 @@ import static org.mockito.Mockito.*;
 import com.fitmatch.common.enums.Activity;
 import com.fitmatch.common.enums.FitnessLevel;
 import com.fitmatch.events.EventsService;
-import com.fitmatch.events.client.UserClient;
+import com.fitmatch.events.capacity.SeatGate;
+import com.fitmatch.events.client.UserProfileCache;
 import com.fitmatch.events.client.dto.UserDto;
+import com.fitmatch.events.config.ProfileAuthenticationToken;
 import com.fitmatch.events.dto.CreateEventRequest;
 import com.fitmatch.events.dto.EventDto;
 import com.fitmatch.events.dto.GetNearbyEventsResponse;
+import com.fitmatch.events.dto.LeaveEventResponse;
 import com.fitmatch.events.dto.NearbyEventView;
+import com.fitmatch.events.dto.NearbyEventsPage;
+import com.fitmatch.events.dto.ParticipationAction;
+import com.fitmatch.events.dto.ParticipationRequest;
+import com.fitmatch.events.dto.ParticipationResult;
+import com.fitmatch.events.dto.RankedNearbyEventView;
 import com.fitmatch.events.entity.Event;
 import com.fitmatch.events.entity.EventParticipant;
+import com.fitmatch.events.geo.NearbyEventIndex;
 import com.fitmatch.events.repository.EventParticipantRepository;
 import com.fitmatch.events.repository.EventsRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.LockModeType;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -35,12 +45,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith(MockitoExtension.class)
 class EventsServiceTest {
 
-  @Mock private UserClient userClient;
+  @Mock private UserProfileCache userProfileCache;
 
   @Mock private EventsRepository eventsRepository;
 
@@ -48,10 +59,19 @@ class EventsServiceTest {
 
   @Mock private EventParticipantRepository eventParticipantRepository;
 
-  @Mock private EntityManager entityManager;
+  @Mock private NearbyEventIndex nearbyEventIndex;
+
+  @Mock private SeatGate seatGate;
 
   @InjectMocks private EventsService eventsService;
 
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(eventsService, "pageSize", 20);
+    ReflectionTestUtils.setField(eventsService, "maxPageSize", 100);
+    ReflectionTestUtils.setField(eventsService, "maxBatchSize", 100);
+  }
+
   @AfterEach
   void clearCtx() {
     SecurityContextHolder.clearContext();
@@ -67,7 +87,7 @@ class EventsServiceTest {
   void createEvent_ok() {
     UUID userId = UUID.randomUUID();
     setAuthUser(userId);
-    when(userClient.getById(userId.toString()))
+    when(userProfileCache.get(userId.toString()))
         .thenReturn(
             createUser(
                 userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
@@ -115,7 +135,7 @@ class EventsServiceTest {
   void joinEvent_ok_incrementsCount() {
     UUID userId = UUID.randomUUID();
     setAuthUser(userId);
-    when(userClient.getById(userId.toString()))
+    when(userProfileCache.get(userId.toString()))
         .thenReturn(
             createUser(
                 userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
@@ -130,26 +150,27 @@ class EventsServiceTest {
             .fitnessLevel(FitnessLevel.BEGINNER)
             .startsAt(LocalDateTime.now().plusHours(2))
             .capacity(2)
-            .participantCount(0)
+            .participantCount(1) // as reloaded after the seat was reserved
             .build();
 
-    when(entityManager.find(Event.class, eventId, LockModeType.PESSIMISTIC_WRITE))
-        .thenReturn(event);
-    when(eventParticipantRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(false);
-    when(eventsRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+    when(seatGate.tryAcquire(eventId)).thenReturn(SeatGate.Admission.ADMITTED);
+    when(eventsRepository.reserveSeat(eq(eventId), any(LocalDateTime.class))).thenReturn(1);
+    when(eventParticipantRepository.insertIfAbsent(any(UUID.class), eq(eventId), eq(userId)))
+        .thenReturn(1);
+    when(eventsRepository.findById(eventId)).thenReturn(Optional.of(event));
 
     var resp = eventsService.joinEvent(eventId);
 
     assertThat(resp.event().participantCount()).isEqualTo(1);
-    verify(eventParticipantRepository).save(any(EventParticipant.class));
-    verify(eventsRepository).save(event);
+    verify(nearbyEventIndex).updateParticipantCount(eventId, 1);
+    verify(eventsRepository, never()).save(any(Event.class));
   }
 
   @Test
   void joinEvent_alreadyAttending_400() {
     UUID userId = UUID.randomUUID();
     setAuthUser(userId);
-    when(userClient.getById(userId.toString()))
+    when(userProfileCache.get(userId.toString()))
         .thenReturn(
             createUser(
                 userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
@@ -164,9 +185,10 @@ class EventsServiceTest {
             .participantCount(3)
             .build();
 
-    when(entityManager.find(eq(Event.class), eq(eventId), eq(LockModeType.PESSIMISTIC_WRITE)))
-        .thenReturn(event);
-    when(eventParticipantRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(true);
+    when(seatGate.tryAcquire(eventId)).thenReturn(SeatGate.Admission.ADMITTED);
+    when(eventsRepository.reserveSeat(eq(eventId), any(LocalDateTime.class))).thenReturn(1);
+    when(eventParticipantRepository.insertIfAbsent(any(UUID.class), eq(eventId), eq(userId)))
+        .thenReturn(0);
 
     assertThatThrownBy(() -> eventsService.joinEvent(eventId))
         .isInstanceOf(ResponseStatusException.class)
@@ -178,7 +200,7 @@ class EventsServiceTest {
   void joinEvent_fullCapacity_400() {
     UUID userId = UUID.randomUUID();
     setAuthUser(userId);
-    when(userClient.getById(userId.toString()))
+    when(userProfileCache.get(userId.toString()))
         .thenReturn(
             createUser(
                 userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
@@ -193,14 +215,59 @@ class EventsServiceTest {
             .participantCount(2)
             .build();
 
-    when(entityManager.find(eq(Event.class), eq(eventId), eq(LockModeType.PESSIMISTIC_WRITE)))
-        .thenReturn(event);
+    when(seatGate.tryAcquire(eventId)).thenReturn(SeatGate.Admission.ADMITTED);
+    when(eventsRepository.reserveSeat(eq(eventId), any(LocalDateTime.class))).thenReturn(0);
+    when(eventsRepository.findById(eventId)).thenReturn(Optional.of(event));
     when(eventParticipantRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(false);
 
     assertThatThrownBy(() -> eventsService.joinEvent(eventId))
         .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("full capacity")
         .extracting("statusCode")
         .isEqualTo(HttpStatus.BAD_REQUEST);
+    verify(eventParticipantRepository, never()).insertIfAbsent(any(), any(), any());
+  }
+
+  @Test
+  void joinEvent_rejectedBySeatGate_skipsDatabase() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+    when(userProfileCache.get(userId.toString()))
+        .thenReturn(
+            createUser(
+                userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
+
+    UUID eventId = UUID.randomUUID();
+    when(seatGate.tryAcquire(eventId))
+        .thenReturn(SeatGate.Admission.FULL, SeatGate.Admission.STARTED);
+
+    assertThatThrownBy(() -> eventsService.joinEvent(eventId))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("full capacity");
+    assertThatThrownBy(() -> eventsService.joinEvent(eventId))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("already started");
+    verifyNoInteractions(eventsRepository, eventParticipantRepository);
+  }
+
+  @Test
+  void joinEvent_missingEvent_404() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+    when(userProfileCache.get(userId.toString()))
+        .thenReturn(
+            createUser(
+                userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
+
+    UUID eventId = UUID.randomUUID();
+    when(seatGate.tryAcquire(eventId)).thenReturn(SeatGate.Admission.ADMITTED);
+    when(eventsRepository.reserveSeat(eq(eventId), any(LocalDateTime.class))).thenReturn(0);
+    when(eventsRepository.findById(eventId)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> eventsService.joinEvent(eventId))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.NOT_FOUND);
   }
 
   @Test
@@ -208,41 +275,90 @@ class EventsServiceTest {
     UUID organizer = UUID.randomUUID();
     UUID otherUser = UUID.randomUUID();
     setAuthUser(otherUser);
-    when(userClient.getById(otherUser.toString()))
-        .thenReturn(createUser(otherUser, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of()));
 
     UUID eventId = UUID.randomUUID();
     Event event = Event.builder().id(eventId).organizerId(organizer).build();
-    when(eventsRepository.findById(eventId)).thenReturn(Optional.of(event));
+    when(eventsRepository.findByIdForUpdate(eventId)).thenReturn(Optional.of(event));
 
     assertThatThrownBy(() -> eventsService.deleteEvent(eventId))
         .isInstanceOf(ResponseStatusException.class)
         .extracting("statusCode")
         .isEqualTo(HttpStatus.BAD_REQUEST);
+    verify(eventsRepository, never()).bulkDeleteById(any());
   }
 
   @Test
-  void leaveEvent_organizerCannotLeave() {
+  void deleteEvent_bulkDeletesParticipantsThenEvent() {
     UUID organizer = UUID.randomUUID();
     setAuthUser(organizer);
-    when(userClient.getById(organizer.toString()))
-        .thenReturn(createUser(organizer, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of()));
 
     UUID eventId = UUID.randomUUID();
     Event event = Event.builder().id(eventId).organizerId(organizer).build();
-    when(eventsRepository.findById(eventId)).thenReturn(Optional.of(event));
+    when(eventsRepository.findByIdForUpdate(eventId)).thenReturn(Optional.of(event));
+
+    eventsService.deleteEvent(eventId);
+
+    InOrder order = inOrder(eventParticipantRepository, eventsRepository);
+    order.verify(eventParticipantRepository).bulkDeleteByEventId(eventId);
+    order.verify(eventsRepository).bulkDeleteById(eventId);
+    verify(eventsRepository, never()).delete(any(Event.class));
+    verify(nearbyEventIndex).remove(eventId);
+    verify(seatGate).evict(eventId);
+  }
+
+  @Test
+  void leaveEvent_organizerCannotLeave() {
+    UUID organizer = UUID.randomUUID();
+    setAuthUser(organizer);
+
+    UUID eventId = UUID.randomUUID();
+    when(eventParticipantRepository.deleteAttendee(eventId, organizer)).thenReturn(0);
+    when(eventsRepository.findOrganizerIdById(eventId)).thenReturn(Optional.of(organizer));
 
     assertThatThrownBy(() -> eventsService.leaveEvent(eventId))
         .isInstanceOf(ResponseStatusException.class)
         .extracting("statusCode")
         .isEqualTo(HttpStatus.BAD_REQUEST);
+    verify(eventsRepository, never()).releaseSeat(any());
+  }
+
+  @Test
+  void leaveEvent_deletesAttendeeAndReleasesSeat() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+
+    UUID eventId = UUID.randomUUID();
+    when(eventParticipantRepository.deleteAttendee(eventId, userId)).thenReturn(1);
+    when(eventsRepository.releaseSeat(eventId)).thenReturn(Optional.of(2));
+
+    LeaveEventResponse resp = eventsService.leaveEvent(eventId);
+
+    assertThat(resp.participantCount()).isEqualTo(2);
+    verify(eventsRepository, never()).findById(any());
+    verify(eventsRepository, never()).save(any(Event.class));
+    verify(nearbyEventIndex).updateParticipantCount(eventId, 2);
+  }
+
+  @Test
+  void leaveEvent_notAttending_404() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+
+    UUID eventId = UUID.randomUUID();
+    when(eventParticipantRepository.deleteAttendee(eventId, userId)).thenReturn(0);
+    when(eventsRepository.findOrganizerIdById(eventId)).thenReturn(Optional.of(UUID.randomUUID()));
+
+    assertThatThrownBy(() -> eventsService.leaveEvent(eventId))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.NOT_FOUND);
   }
 
   @Test
   void getNearbyEvents_scoresAndSorts() {
     UUID userId = UUID.randomUUID();
     setAuthUser(userId);
-    when(userClient.getById(userId.toString()))
+    when(userProfileCache.get(userId.toString()))
         .thenReturn(
             createUser(
                 userId, 41.0, 29.0, 20, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
@@ -271,9 +387,12 @@ class EventsServiceTest {
     when(v2.getLat()).thenReturn(41.01);
     when(v2.getLng()).thenReturn(29.01);
 
-    when(eventsRepository.findNearbyEvents(41.0, 29.0, 20_000.0)).thenReturn(List.of(v1, v2));
+    when(eventsRepository.findNearbyEvents(
+            eq(41.0), eq(29.0), eq(20_000.0), any(), eq(false), any(), eq(false)))
+        .thenReturn(List.of(v1, v2));
 
-    List<GetNearbyEventsResponse> out = eventsService.getNearbyEvents();
+    List<GetNearbyEventsResponse> out =
+        eventsService.getNearbyEvents(null, null, null, false).events();
 
     assertThat(out).hasSize(2);
     assertThat(out.get(0).compatibilityScore()).isBetween(0.0, 100.0);
@@ -282,17 +401,278 @@ class EventsServiceTest {
     assertThat(out.get(0).event().getTitle()).isEqualTo("Run A");
   }
 
+  @Test
+  void getNearbyEvents_usesIndexWhenReady() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+    when(userProfileCache.get(userId.toString()))
+        .thenReturn(
+            createUser(
+                userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
+
+    NearbyEventView v1 = mock(NearbyEventView.class);
+    when(v1.getTitle()).thenReturn("Run A");
+    when(v1.getActivity()).thenReturn(Activity.RUNNING.name());
+    when(v1.getFitnessLevel()).thenReturn(FitnessLevel.BEGINNER.name());
+    when(v1.getParticipantCount()).thenReturn(1);
+    when(v1.getDistance()).thenReturn(100.0);
+
+    when(nearbyEventIndex.isReady()).thenReturn(true);
+    when(nearbyEventIndex.findWithin(41.0, 29.0, 10_000.0, null, false)).thenReturn(List.of(v1));
+
+    List<GetNearbyEventsResponse> out =
+        eventsService.getNearbyEvents(null, null, null, false).events();
+
+    assertThat(out).hasSize(1);
+    assertThat(out.get(0).event().getTitle()).isEqualTo("Run A");
+    verify(eventsRepository, never())
+        .findNearbyEvents(
+            anyDouble(), anyDouble(), anyDouble(), any(), anyBoolean(), any(), anyBoolean());
+  }
+
+  @Test
+  void getNearbyEvents_usesProfileFromTokenClaims() {
+    UUID userId = UUID.randomUUID();
+    SecurityContextHolder.setContext(
+        new SecurityContextImpl(
+            new ProfileAuthenticationToken(
+                createUser(
+                    userId,
+                    41.0,
+                    29.0,
+                    10,
+                    true,
+                    FitnessLevel.BEGINNER,
+                    List.of(Activity.RUNNING)))));
+    when(eventsRepository.findNearbyEvents(
+            eq(41.0), eq(29.0), eq(10_000.0), any(), eq(false), any(), eq(false)))
+        .thenReturn(List.of());
+
+    assertThat(eventsService.getNearbyEvents(null, null, null, false).events()).isEmpty();
+    verifyNoInteractions(userProfileCache);
+  }
+
+  @Test
+  void getNearbyEvents_rankInDatabase_passesUserAffinities() {
+    ReflectionTestUtils.setField(eventsService, "rankInDatabase", true);
+    ReflectionTestUtils.setField(eventsService, "pageSize", 25);
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+    when(userProfileCache.get(userId.toString()))
+        .thenReturn(
+            createUser(
+                userId,
+                41.0,
+                29.0,
+                10,
+                true,
+                FitnessLevel.INTERMEDIATE,
+                List.of(Activity.YOGA, Activity.HIKING)));
+
+    RankedNearbyEventView v1 = mock(RankedNearbyEventView.class);
+    when(v1.getTitle()).thenReturn("Pilates");
+    when(v1.getScore()).thenReturn(72.5);
+    when(eventsRepository.findTopNearbyEvents(
+            eq(41.0),
+            eq(29.0),
+            eq(10_000.0),
+            any(),
+            eq(false),
+            any(),
+            eq(false),
+            eq("YOGA,HIKING"),
+            eq("PILATES,CLIMBING"),
+            eq(1),
+            eq(0.40),
+            eq(0.40),
+            eq(0.20),
+            eq(false),
+            eq(0.0),
+            eq(0),
+            eq(0.0),
+            eq(""),
+            eq(26)))
+        .thenReturn(List.of(v1));
+
+    List<GetNearbyEventsResponse> out =
+        eventsService.getNearbyEvents(null, null, null, false).events();
+
+    assertThat(out)
+        .singleElement()
+        .extracting(GetNearbyEventsResponse::compatibilityScore)
+        .isEqualTo(72.5);
+    assertThat(out.get(0).event().getTitle()).isEqualTo("Pilates");
+    verify(eventsRepository, never())
+        .findNearbyEvents(
+            anyDouble(), anyDouble(), anyDouble(), any(), anyBoolean(), any(), anyBoolean());
+  }
+
+  @Test
+  void getNearbyEvents_pagesWithCursor() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+    when(userProfileCache.get(userId.toString()))
+        .thenReturn(
+            createUser(
+                userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
+
+    List<NearbyEventView> views = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      NearbyEventView view = mock(NearbyEventView.class);
+      when(view.getId()).thenReturn(UUID.randomUUID());
+      when(view.getTitle()).thenReturn("E" + i);
+      when(view.getActivity()).thenReturn(Activity.RUNNING.name());
+      when(view.getFitnessLevel()).thenReturn(FitnessLevel.BEGINNER.name());
+      when(view.getParticipantCount()).thenReturn(1);
+      when(view.getDistance()).thenReturn(100.0 * (i + 1));
+      views.add(view);
+    }
+    when(eventsRepository.findNearbyEvents(
+            eq(41.0), eq(29.0), eq(10_000.0), any(), eq(false), any(), eq(false)))
+        .thenReturn(views);
+
+    NearbyEventsPage first = eventsService.getNearbyEvents(2, null, null, false);
+    NearbyEventsPage second = eventsService.getNearbyEvents(2, first.nextCursor(), null, false);
+    NearbyEventsPage last = eventsService.getNearbyEvents(2, second.nextCursor(), null, false);
+
+    assertThat(first.events()).extracting(r -> r.event().getTitle()).containsExactly("E0", "E1");
+    assertThat(second.events()).extracting(r -> r.event().getTitle()).containsExactly("E2", "E3");
+    assertThat(last.events()).extracting(r -> r.event().getTitle()).containsExactly("E4");
+    assertThat(last.nextCursor()).isNull();
+  }
+
+  @Test
+  void getNearbyEvents_capsLimitAndRejectsBadCursor() {
+    assertThatThrownBy(() -> eventsService.getNearbyEvents(0, null, null, false))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThatThrownBy(() -> eventsService.getNearbyEvents(10, "not-a-cursor", null, false))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void getNearbyEvents_passesTimeWindowAndHideFull() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+    when(userProfileCache.get(userId.toString()))
+        .thenReturn(
+            createUser(
+                userId, 41.0, 29.0, 10, true, FitnessLevel.BEGINNER, List.of(Activity.RUNNING)));
+    when(eventsRepository.findNearbyEvents(
+            eq(41.0), eq(29.0), eq(10_000.0), any(), eq(true), any(), eq(true)))
+        .thenReturn(List.of());
+
+    LocalDateTime before = LocalDateTime.now();
+    assertThat(eventsService.getNearbyEvents(null, null, 7, true).events()).isEmpty();
+
+    ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+    ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(eventsRepository)
+        .findNearbyEvents(
+            eq(41.0), eq(29.0), eq(10_000.0), now.capture(), eq(true), until.capture(), eq(true));
+    assertThat(now.getValue()).isAfterOrEqualTo(before);
+    assertThat(until.getValue()).isEqualTo(now.getValue().plusDays(7));
+  }
+
+  @Test
+  void getNearbyEvents_rejectsNonPositiveWindow() {
+    assertThatThrownBy(() -> eventsService.getNearbyEvents(null, null, 0, false))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void evictCurrentUserProfile_evictsAuthenticatedUser() {
+    UUID userId = UUID.randomUUID();
+    setAuthUser(userId);
+
+    eventsService.evictCurrentUserProfile();
+
+    verify(userProfileCache).evict(userId);
+  }
+
   @Test
   void getNearbyEvents_requiresCompletedProfile() {
     UUID userId = UUID.randomUUID();
     setAuthUser(userId);
-    when(userClient.getById(userId.toString()))
+    when(userProfileCache.get(userId.toString()))
         .thenReturn(createUser(userId, 41.0, 29.0, 10, false, FitnessLevel.BEGINNER, List.of()));
 
-    assertThatThrownBy(() -> eventsService.getNearbyEvents())
+    assertThatThrownBy(() -> eventsService.getNearbyEvents(null, null, null, false))
+        .isInstanceOf(ResponseStatusException.class)
+        .extracting("statusCode")
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void updateParticipation_appliesItemsIndependently() {
+    UUID organizer = UUID.randomUUID();
+    setAuthUser(organizer);
+    UUID guest = UUID.randomUUID();
+    UUID stranger = UUID.randomUUID();
+
+    Event open = event(UUID.randomUUID(), organizer, 3, 1);
+    Event full = event(UUID.randomUUID(), UUID.randomUUID(), 1, 1);
+    UUID missing = UUID.randomUUID();
+    EventParticipant strangerSeat =
+        EventParticipant.builder().id(UUID.randomUUID()).userId(stranger).event(open).build();
+    when(eventsRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(open, full));
+    when(eventParticipantRepository.findByEventIdInAndUserIdIn(anyCollection(), anyCollection()))
+        .thenReturn(List.of(strangerSeat));
+
+    List<ParticipationResult> results =
+        eventsService.updateParticipation(
+            List.of(
+                new ParticipationRequest(open.getId(), guest, ParticipationAction.JOIN),
+                new ParticipationRequest(open.getId(), stranger, ParticipationAction.LEAVE),
+                new ParticipationRequest(full.getId(), null, ParticipationAction.JOIN),
+                new ParticipationRequest(full.getId(), guest, ParticipationAction.JOIN),
+                new ParticipationRequest(missing, null, ParticipationAction.JOIN)));
+
+    assertThat(results)
+        .extracting(ParticipationResult::status)
+        .containsExactly(200, 200, 400, 403, 404);
+    assertThat(open.getParticipantCount()).isEqualTo(1);
+    verify(eventParticipantRepository).deleteAllInBatch(List.of(strangerSeat));
+    verify(eventParticipantRepository)
+        .saveAll(
+            argThat(
+                (List<EventParticipant> saved) ->
+                    saved.size() == 1 && saved.get(0).getUserId().equals(guest)));
+    verify(nearbyEventIndex).updateParticipantCount(open.getId(), 1);
+    verify(nearbyEventIndex, never()).updateParticipantCount(eq(full.getId()), anyInt());
+  }
+
+  @Test
+  void updateParticipation_rejectsOversizedBatch() {
+    ReflectionTestUtils.setField(eventsService, "maxBatchSize", 1);
+    List<ParticipationRequest> requests =
+        List.of(
+            new ParticipationRequest(UUID.randomUUID(), null, ParticipationAction.JOIN),
+            new ParticipationRequest(UUID.randomUUID(), null, ParticipationAction.JOIN));
+
+    assertThatThrownBy(() -> eventsService.updateParticipation(requests))
         .isInstanceOf(ResponseStatusException.class)
         .extracting("statusCode")
         .isEqualTo(HttpStatus.BAD_REQUEST);
+    verifyNoInteractions(eventsRepository);
+  }
+
+  private static Event event(UUID id, UUID organizer, int capacity, int participantCount) {
+    return Event.builder()
+        .id(id)
+        .organizerId(organizer)
+        .title("E")
+        .activity(Activity.RUNNING)
+        .fitnessLevel(FitnessLevel.BEGINNER)
+        .startsAt(LocalDateTime.now().plusDays(1))
+        .capacity(capacity)
+        .participantCount(participantCount)
+        .build();
   }
 
   private UserDto createUser(
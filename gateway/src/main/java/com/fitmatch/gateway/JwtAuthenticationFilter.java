@@ -1,6 +1,8 @@
 package com.fitmatch.gateway;
 
-import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TokenClaims;
+import com.fitmatch.common.TrustedIdentity;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -16,12 +18,25 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
-  private final JwtService jwtService;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final TrustedIdentity trustedIdentity;
   private final AntPathMatcher antPathMatcher = new AntPathMatcher();
   private static final String PERMITTED_ENDPOINT = "/api/auth/**";
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    // Identity headers are only ever set by the gateway, never accepted from clients
+    exchange =
+        exchange
+            .mutate()
+            .request(
+                exchange
+                    .getRequest()
+                    .mutate()
+                    .headers(headers -> TrustedIdentity.HEADERS.forEach(headers::remove))
+                    .build())
+            .build();
+
     String endpoint = exchange.getRequest().getURI().getPath();
 
     if (antPathMatcher.match(PERMITTED_ENDPOINT, endpoint)) {
@@ -34,16 +49,22 @@ public class JwtAuthenticationFilter implements WebFilter {
     }
 
     String token = authHeader.substring(7);
-    if (!jwtService.validateToken(token)) {
+    TokenClaims claims;
+    try {
+      claims = verifiedTokenCache.parse(token);
+    } catch (JwtException e) {
       return chain.filter(exchange);
     }
 
-    String email = jwtService.getEmailFromToken(token);
     UsernamePasswordAuthenticationToken authentication =
-        new UsernamePasswordAuthenticationToken(email, null, null);
+        new UsernamePasswordAuthenticationToken(claims.email(), null, null);
 
-    ServerHttpRequest mutatedRequest =
-        exchange.getRequest().mutate().header("Authorization", "Bearer " + token).build();
+    ServerHttpRequest.Builder request =
+        exchange.getRequest().mutate().header("Authorization", "Bearer " + token);
+    if (trustedIdentity.isEnabled()) {
+      trustedIdentity.issue(claims).writeTo(request::header);
+    }
+    ServerHttpRequest mutatedRequest = request.build();
     ServerWebExchange mutatedExchange = exchange.mutate().request(mutatedRequest).build();
 
     // Proper reactive security context handling
@@ -0,0 +1,76 @@
+package com.fitmatch.gateway;
+
+import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TokenClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of verified tokens, keyed by the SHA-256 hash of the token so raw tokens are never
+ * held in memory. Each entry expires when its token does, so a cached token is never accepted past
+ * its expiry. Tokens that fail verification are not cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final JwtService jwtService;
+  private final Cache<String, TokenClaims> tokens;
+
+  public VerifiedTokenCache(
+      JwtService jwtService,
+      @Value("${fitmatch.gateway.token-cache.maximum-size:10000}") long maximumSize) {
+    this.jwtService = jwtService;
+    this.tokens =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(
+                new Expiry<String, TokenClaims>() {
+                  @Override
+                  public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                    return Math.max(
+                        0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      String key, TokenClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      String key, TokenClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .build();
+  }
+
+  /**
+   * Returns the claims of the token, verifying it only on a cache miss.
+   *
+   * @throws io.jsonwebtoken.JwtException if the token fails verification
+   */
+  public TokenClaims parse(String token) {
+    return tokens.get(hash(token), key -> jwtService.parse(token));
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
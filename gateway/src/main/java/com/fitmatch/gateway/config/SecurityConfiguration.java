@@ -1,7 +1,8 @@
 package com.fitmatch.gateway.config;
 
-import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TrustedIdentity;
 import com.fitmatch.gateway.JwtAuthenticationFilter;
+import com.fitmatch.gateway.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,7 +32,8 @@ public class SecurityConfiguration {
   }
 
   @Bean
-  public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService) {
-    return new JwtAuthenticationFilter(jwtService);
+  public JwtAuthenticationFilter jwtAuthenticationFilter(
+      VerifiedTokenCache verifiedTokenCache, TrustedIdentity trustedIdentity) {
+    return new JwtAuthenticationFilter(verifiedTokenCache, trustedIdentity);
   }
 }
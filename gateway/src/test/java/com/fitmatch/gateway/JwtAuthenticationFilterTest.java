@@ -0,0 +1,93 @@
+package com.fitmatch.gateway;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.common.TokenClaims;
+import com.fitmatch.common.TrustedIdentity;
+import io.jsonwebtoken.MalformedJwtException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+class JwtAuthenticationFilterTest {
+
+  private static final String SECRET = "dHJ1c3RlZC1pZGVudGl0eS10ZXN0LXNlY3JldC1rZXktMzItYnl0ZXM=";
+
+  private VerifiedTokenCache verifiedTokenCache;
+  private TrustedIdentity trustedIdentity;
+  private JwtAuthenticationFilter filter;
+  private AtomicReference<ServerWebExchange> forwarded;
+  private WebFilterChain chain;
+
+  @BeforeEach
+  void setUp() {
+    verifiedTokenCache = mock(VerifiedTokenCache.class);
+    trustedIdentity = new TrustedIdentity(true, SECRET, "jwt-secret", Duration.ofSeconds(30));
+    filter = new JwtAuthenticationFilter(verifiedTokenCache, trustedIdentity);
+    forwarded = new AtomicReference<>();
+    chain =
+        exchange -> {
+          forwarded.set(exchange);
+          return Mono.empty();
+        };
+  }
+
+  @Test
+  void stripsClientSuppliedIdentityHeaders() {
+    when(verifiedTokenCache.parse("bad")).thenThrow(new MalformedJwtException("bad"));
+
+    for (MockServerHttpRequest.BaseBuilder<?> request :
+        new MockServerHttpRequest.BaseBuilder<?>[] {
+          MockServerHttpRequest.get("/api/events/nearby"),
+          MockServerHttpRequest.get("/api/events/nearby").header("Authorization", "Bearer bad"),
+          MockServerHttpRequest.post("/api/auth/login")
+        }) {
+      filter.filter(MockServerWebExchange.from(forged(request)), chain).block();
+
+      HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+      assertThat(TrustedIdentity.HEADERS).noneMatch(headers::containsKey);
+    }
+  }
+
+  @Test
+  void replacesForgedHeadersWithASignedIdentity() {
+    when(verifiedTokenCache.parse("good"))
+        .thenReturn(new TokenClaims("u-1", "a@b.c", Instant.now().plusSeconds(60), null));
+
+    filter
+        .filter(
+            MockServerWebExchange.from(
+                forged(
+                    MockServerHttpRequest.get("/api/events/nearby")
+                        .header("Authorization", "Bearer good"))),
+            chain)
+        .block();
+
+    HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+    assertThat(headers.get(TrustedIdentity.USER_ID_HEADER)).containsExactly("u-1");
+    assertThat(headers).doesNotContainKey(TrustedIdentity.PROFILE_HEADER);
+    assertThat(trustedIdentity.verify(headers::getFirst))
+        .get()
+        .extracting(TrustedIdentity.Identity::email)
+        .isEqualTo("a@b.c");
+  }
+
+  private static MockServerHttpRequest.BaseBuilder<?> forged(
+      MockServerHttpRequest.BaseBuilder<?> request) {
+    return request
+        .header(TrustedIdentity.USER_ID_HEADER, "victim")
+        .header(TrustedIdentity.EMAIL_HEADER, "victim@b.c")
+        .header(TrustedIdentity.PROFILE_HEADER, "ADVANCED;RUNNING;0.0;0.0;100")
+        .header(TrustedIdentity.EXPIRES_HEADER, "9999999999")
+        .header(TrustedIdentity.SIGNATURE_HEADER, "forged");
+  }
+}
@@ -0,0 +1,66 @@
+package com.fitmatch.gateway;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TokenClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+  private JwtService jwtService;
+  private VerifiedTokenCache cache;
+
+  @BeforeEach
+  void setUp() {
+    jwtService = mock(JwtService.class);
+    cache = new VerifiedTokenCache(jwtService, 100);
+  }
+
+  @Test
+  void verifiesEachTokenOnlyOnce() {
+    TokenClaims claims = claims(Instant.now().plusSeconds(3600));
+    when(jwtService.parse("token")).thenReturn(claims);
+
+    assertThat(cache.parse("token")).isSameAs(claims);
+    assertThat(cache.parse("token")).isSameAs(claims);
+
+    verify(jwtService, times(1)).parse("token");
+  }
+
+  @Test
+  void dropsEntriesWhenTheirTokenExpires() throws InterruptedException {
+    when(jwtService.parse("token"))
+        .thenReturn(claims(Instant.now().plusMillis(500)))
+        .thenThrow(new ExpiredJwtException(null, null, "expired"));
+    cache.parse("token");
+
+    Thread.sleep(700);
+
+    assertThatThrownBy(() -> cache.parse("token")).isInstanceOf(ExpiredJwtException.class);
+    verify(jwtService, times(2)).parse("token");
+  }
+
+  @Test
+  void neverCachesInvalidOrAlreadyExpiredTokens() {
+    when(jwtService.parse("invalid")).thenThrow(new MalformedJwtException("invalid"));
+    when(jwtService.parse("expired")).thenReturn(claims(Instant.now().minusSeconds(1)));
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> cache.parse("invalid")).isInstanceOf(MalformedJwtException.class);
+      cache.parse("expired");
+    }
+
+    verify(jwtService, times(2)).parse("invalid");
+    verify(jwtService, times(2)).parse("expired");
+  }
+
+  private static TokenClaims claims(Instant expiresAt) {
+    return new TokenClaims("u-1", "a@b.c", expiresAt, null);
+  }
+}
@@ -1,12 +1,15 @@
 package com.fitmatch.user.config;
 
 import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TokenClaims;
+import com.fitmatch.common.TrustedIdentity;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,12 +21,23 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class HeaderAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
+  private final TrustedIdentity trustedIdentity;
 
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
 
+    Optional<TrustedIdentity.Identity> identity = trustedIdentity.verify(request::getHeader);
+    if (identity.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+      UsernamePasswordAuthenticationToken auth =
+          new UsernamePasswordAuthenticationToken(
+              identity.get().email(), null, Collections.emptyList());
+      auth.setDetails(identity.get().userId());
+
+      SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
     String authHeader = request.getHeader("Authorization");
 
     if (authHeader != null
@@ -32,16 +46,13 @@ public class HeaderAuthenticationFilter extends OncePerRequestFilter {
       String jwtToken = authHeader.substring(7);
       try {
 
-        if (jwtService.validateToken(jwtToken)) {
-          String userEmail = jwtService.getEmailFromToken(jwtToken);
-          String userId = jwtService.getIdFromToken(jwtToken);
+        TokenClaims claims = jwtService.parse(jwtToken);
 
-          UsernamePasswordAuthenticationToken auth =
-              new UsernamePasswordAuthenticationToken(userEmail, null, Collections.emptyList());
-          auth.setDetails(userId);
+        UsernamePasswordAuthenticationToken auth =
+            new UsernamePasswordAuthenticationToken(claims.email(), null, Collections.emptyList());
+        auth.setDetails(claims.userId());
 
-          SecurityContextHolder.getContext().setAuthentication(auth);
-        }
+        SecurityContextHolder.getContext().setAuthentication(auth);
       } catch (Exception e) {
         // Log the error if needed, but don't break the filter chain
         logger.warn("Failed to process JWT token: " + e.getMessage());
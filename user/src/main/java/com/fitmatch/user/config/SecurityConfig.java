@@ -1,6 +1,7 @@
 package com.fitmatch.user.config;
 
 import com.fitmatch.common.JwtService;
+import com.fitmatch.common.TrustedIdentity;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,8 +28,9 @@ public class SecurityConfig {
   }
 
   @Bean
-  public HeaderAuthenticationFilter headerAuthenticationFilter(JwtService jwtService) {
-    return new HeaderAuthenticationFilter(jwtService);
+  public HeaderAuthenticationFilter headerAuthenticationFilter(
+      JwtService jwtService, TrustedIdentity trustedIdentity) {
+    return new HeaderAuthenticationFilter(jwtService, trustedIdentity);
   }
 
   @Bean
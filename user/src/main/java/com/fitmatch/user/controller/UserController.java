@@ -1,5 +1,6 @@
 package com.fitmatch.user.controller;
 
+import com.fitmatch.common.JwtService;
 import com.fitmatch.common.dto.UserDto;
 import com.fitmatch.user.dto.CompleteProfileRequest;
 import com.fitmatch.user.service.UserService;
@@ -15,7 +16,11 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class UserController {
 
+  /** Carries a fresh token once the profile changes, so its profile claims stay current. */
+  static final String AUTH_TOKEN_HEADER = "X-Auth-Token";
+
   private final UserService userService;
+  private final JwtService jwtService;
 
   @GetMapping("/{id}")
   public ResponseEntity<UserDto> getUser(@PathVariable("id") String id) {
@@ -25,6 +30,7 @@ public class UserController {
   @PostMapping("/profile")
   public ResponseEntity<UserDto> getUser(
       @RequestBody CompleteProfileRequest completeProfileRequest) {
-    return ResponseEntity.ok(userService.completeProfile(completeProfileRequest));
+    UserDto user = userService.completeProfile(completeProfileRequest);
+    return ResponseEntity.ok().header(AUTH_TOKEN_HEADER, jwtService.generateToken(user)).body(user);
   }
 }
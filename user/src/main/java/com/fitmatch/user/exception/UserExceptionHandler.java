@@ -1,5 +1,6 @@
 package com.fitmatch.user.exception;
 
+import com.fitmatch.common.concurrent.BulkheadFullException;
 import io.jsonwebtoken.JwtException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -20,6 +21,8 @@ public class UserExceptionHandler {
 
   @ExceptionHandler(value = Exception.class)
   public ResponseEntity<Object> defaultErrorHandler(Exception e) {
+    BulkheadFullException bulkheadFull = BulkheadFullException.findIn(e);
+    if (bulkheadFull != null) return bulkheadFullHandler(bulkheadFull);
     return new ResponseEntity<>(
         ErrorResponse.builder().timestamp(LocalDateTime.now()).message(e.getMessage()).build(),
         HttpStatus.INTERNAL_SERVER_ERROR);
@@ -53,6 +56,13 @@ public class UserExceptionHandler {
         HttpStatus.UNAUTHORIZED);
   }
 
+  @ExceptionHandler(value = BulkheadFullException.class)
+  public ResponseEntity<Object> bulkheadFullHandler(BulkheadFullException e) {
+    return new ResponseEntity<>(
+        ErrorResponse.builder().timestamp(LocalDateTime.now()).message(e.getMessage()).build(),
+        HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   @ExceptionHandler(value = ResponseStatusException.class)
   public ResponseEntity<Object> responseStatusExceptionHandler(ResponseStatusException ex) {
     return new ResponseEntity<>(
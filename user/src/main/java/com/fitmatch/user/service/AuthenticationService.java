@@ -34,7 +34,7 @@ public class AuthenticationService {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid Credentials");
     }
 
-    String token = jwtService.generateToken(user.getId().toString(), user.getEmail());
+    String token = jwtService.generateToken(UserService.getUserDto(user));
     return AuthenticationResponse.builder().email(email).token(token).build();
   }
 
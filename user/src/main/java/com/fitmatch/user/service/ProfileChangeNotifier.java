@@ -0,0 +1,83 @@
+package com.fitmatch.user.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Tells every events instance to drop its cached copy of a user's profile after it changes.
+ *
+ * <p>Each instance is called directly (not through the gateway) with the caller's own bearer token,
+ * so an instance can only evict the profile of the user making the request. Calls are
+ * fire-and-forget; failures are logged and the events cache TTL bounds the staleness.
+ */
+@Slf4j
+@Component
+public class ProfileChangeNotifier {
+
+  private static final String EVICT_PATH = "/api/events/profile-cache";
+
+  private final DiscoveryClient discoveryClient;
+  private final RestClient restClient;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Value("${fitmatch.user.profile-change-notification.enabled:true}")
+  private boolean enabled;
+
+  @Value("${fitmatch.user.profile-change-notification.events-service-id:events}")
+  private String eventsServiceId;
+
+  public ProfileChangeNotifier(DiscoveryClient discoveryClient) {
+    this.discoveryClient = discoveryClient;
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(2000);
+    requestFactory.setReadTimeout(2000);
+    this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+  }
+
+  public void profileChanged(UUID userId) {
+    if (!enabled) return;
+
+    String authorization = currentAuthorization();
+    if (authorization == null) return;
+
+    List<ServiceInstance> instances = discoveryClient.getInstances(eventsServiceId);
+    for (ServiceInstance instance : instances) {
+      executor.execute(
+          () -> {
+            try {
+              restClient
+                  .delete()
+                  .uri(instance.getUri().resolve(EVICT_PATH))
+                  .header(HttpHeaders.AUTHORIZATION, authorization)
+                  .retrieve()
+                  .toBodilessEntity();
+            } catch (RuntimeException e) {
+              log.warn(
+                  "Failed to evict cached profile of user {} on {}: {}",
+                  userId,
+                  instance.getUri(),
+                  e.getMessage());
+            }
+          });
+    }
+  }
+
+  private static String currentAuthorization() {
+    var attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    if (attrs == null) return null;
+    String authorization = attrs.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+    return authorization == null || authorization.isBlank() ? null : authorization;
+  }
+}
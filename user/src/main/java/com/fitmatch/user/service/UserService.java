@@ -19,6 +19,7 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final GeoFactory geoFactory;
+  private final ProfileChangeNotifier profileChangeNotifier;
 
   public UserDto getUserById(UUID id) {
     User user =
@@ -46,7 +47,9 @@ public class UserService {
         geoFactory.point(completeProfileRequest.latitude(), completeProfileRequest.longitude()));
     user.setSearchRadiusKm(completeProfileRequest.searchRadiusKm());
     user.setProfileCompleted(true);
-    return getUserDto(userRepository.save(user));
+    User saved = userRepository.save(user);
+    profileChangeNotifier.profileChanged(saved.getId());
+    return getUserDto(saved);
   }
 
   private static String getCurrentUser() {
@@ -54,7 +57,7 @@ public class UserService {
     return (String) auth.getDetails();
   }
 
-  private static UserDto getUserDto(User user) {
+  static UserDto getUserDto(User user) {
     return UserDto.builder()
         .id(user.getId())
         .email(user.getEmail())
@@ -0,0 +1,25 @@
+-- Baseline of the schema previously created by Hibernate's ddl-auto. Every statement is
+-- idempotent so the migration also applies cleanly to databases created that way.
+
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+CREATE TABLE IF NOT EXISTS users (
+    id                uuid                        PRIMARY KEY,
+    email             varchar(255)                NOT NULL UNIQUE,
+    password_hash     varchar(255)                NOT NULL,
+    full_name         varchar(100)                NOT NULL,
+    fitness_level     varchar(255),
+    location          geometry(Point, 4326),
+    search_radius_km  integer,
+    profile_completed boolean                     NOT NULL DEFAULT false,
+    created_at        timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_activity_interests (
+    user_id  uuid        NOT NULL REFERENCES users (id),
+    activity varchar(50) NOT NULL
+);
+
+-- Interests are loaded per user whenever a profile is read.
+CREATE INDEX IF NOT EXISTS user_activity_interests_user_idx
+    ON user_activity_interests (user_id);
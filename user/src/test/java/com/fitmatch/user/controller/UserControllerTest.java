@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitmatch.common.JwtService;
 import com.fitmatch.common.dto.UserDto;
 import com.fitmatch.common.enums.Activity;
 import com.fitmatch.common.enums.FitnessLevel;
@@ -34,6 +35,8 @@ class UserControllerTest {
 
   @Mock private UserService userService;
 
+  @Mock private JwtService jwtService;
+
   @InjectMocks private UserController controller;
 
   @BeforeEach
@@ -110,12 +113,14 @@ class UserControllerTest {
             .build();
 
     when(userService.completeProfile(any(CompleteProfileRequest.class))).thenReturn(resp);
+    when(jwtService.generateToken(resp)).thenReturn("fresh-token");
 
     String body = objectMapper.writeValueAsString(req);
 
     mockMvc
         .perform(post("/api/users/profile").contentType(APPLICATION_JSON).content(body))
         .andExpect(status().isOk())
+        .andExpect(header().string("X-Auth-Token", "fresh-token"))
         .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
         .andExpect(jsonPath("$.email").value("x@y.com"))
         .andExpect(jsonPath("$.profileCompleted").value(true));
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 import com.fitmatch.common.JwtService;
+import com.fitmatch.common.dto.UserDto;
 import com.fitmatch.user.dto.AuthenticationResponse;
 import com.fitmatch.user.dto.LoginRequest;
 import com.fitmatch.user.dto.RegisterRequest;
@@ -61,7 +62,7 @@ class AuthenticationServiceTest {
   void login_withValidCredentials_shouldReturnAuthenticationResponse() {
     when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
     when(passwordEncoder.matches(TEST_PASSWORD, TEST_ENCODED_PASSWORD)).thenReturn(true);
-    when(jwtService.generateToken(TEST_USER_ID.toString(), TEST_EMAIL)).thenReturn(TEST_JWT_TOKEN);
+    when(jwtService.generateToken(any(UserDto.class))).thenReturn(TEST_JWT_TOKEN);
 
     AuthenticationResponse response = authenticationService.login(loginRequest);
 
@@ -71,7 +72,11 @@ class AuthenticationServiceTest {
 
     verify(userRepository).findByEmail(TEST_EMAIL);
     verify(passwordEncoder).matches(TEST_PASSWORD, TEST_ENCODED_PASSWORD);
-    verify(jwtService).generateToken(TEST_USER_ID.toString(), TEST_EMAIL);
+    verify(jwtService)
+        .generateToken(
+            argThat(
+                (UserDto user) ->
+                    user.id().equals(TEST_USER_ID) && user.email().equals(TEST_EMAIL)));
   }
 
   @Test
@@ -87,7 +92,7 @@ class AuthenticationServiceTest {
 
     verify(userRepository).findByEmail(TEST_EMAIL);
     verify(passwordEncoder, never()).matches(anyString(), anyString());
-    verify(jwtService, never()).generateToken(anyString(), anyString());
+    verify(jwtService, never()).generateToken(any(UserDto.class));
   }
 
   @Test
@@ -104,7 +109,7 @@ class AuthenticationServiceTest {
 
     verify(userRepository).findByEmail(TEST_EMAIL);
     verify(passwordEncoder).matches(TEST_PASSWORD, TEST_ENCODED_PASSWORD);
-    verify(jwtService, never()).generateToken(anyString(), anyString());
+    verify(jwtService, never()).generateToken(any(UserDto.class));
   }
 
   @Test
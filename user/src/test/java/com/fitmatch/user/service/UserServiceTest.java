@@ -36,6 +36,8 @@ class UserServiceTest {
 
   @Mock private GeoFactory geoFactory;
 
+  @Mock private ProfileChangeNotifier profileChangeNotifier;
+
   @InjectMocks private UserService userService;
 
   @AfterEach
@@ -107,6 +109,7 @@ class UserServiceTest {
     assertThat(captor.getValue().isProfileCompleted()).isTrue();
     assertThat(dto.lat()).isEqualTo(41.02);
     assertThat(dto.lon()).isEqualTo(29.01);
+    verify(profileChangeNotifier).profileChanged(userId);
   }
 
   @Test